@@ -7,7 +7,6 @@ import android.view.View;
 
 import com.aliya.permission.Permission;
 import com.aliya.permission.PermissionManager;
-import com.aliya.permission.ResultHelper;
 import com.aliya.permission.SettingIntents;
 import com.aliya.permission.abs.AbsPermissionCallback;
 import com.aliya.permission.sample.utils.T;
@@ -46,22 +45,18 @@ public class NeverAskActivity extends AppCompatActivity implements View.OnClickL
     }
 
     private void openOverlayPermission() {
-        final String permission = Manifest.permission.SYSTEM_ALERT_WINDOW;
-        if (!PermissionManager.checkPermission(this, permission)) {
-            ResultHelper.startActivityForResult(this,
-                    SettingIntents.getOverlayPermissionIntent(this),
-                    101, new ResultHelper.OnActivityResultCallback() {
-                        @Override
-                        public void onActivityResult(int requestCode, int resultCode, Intent data) {
-                            boolean result =
-                                    PermissionManager.checkPermission(getBaseContext(), permission);
-
-                            T.showShort(NeverAskActivity.this, result ? "通过" : "拒绝");
-                        }
-                    });
-        } else {
-            T.showShort(NeverAskActivity.this,  "显示在上层权限已允许");
-        }
+        // 特殊权限：未授权时跳转设置页，返回后重新检查并回调
+        PermissionManager.request(this, new AbsPermissionCallback() {
+            @Override
+            public void onGranted(boolean isAlready) {
+                T.showShort(NeverAskActivity.this, isAlready ? "显示在上层权限已允许" : "通过");
+            }
+
+            @Override
+            public void onDenied() {
+                T.showShort(NeverAskActivity.this, "拒绝");
+            }
+        }, Manifest.permission.SYSTEM_ALERT_WINDOW);
     }
 
     private void requestLocationPermission() {
@@ -0,0 +1,70 @@
+package com.aliya.permission;
+
+import android.Manifest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 权限归类（{@link OpEntity}、assortPermission）及申请前已全部授权的 request 开销
+ * <p>
+ * source : android - 默认数据源（经由 FakeApplication）；memory - {@link InMemoryPermissionStateSource}
+ *
+ * @author a_liYa
+ * @date 2026/10/18 18:35.
+ */
+@State(Scope.Thread)
+public class AssortBenchmark {
+
+    @Param({"android", "memory"})
+    public String source;
+
+    private FakeApplication.FakeActivity mActivity;
+
+    @Setup
+    public void setUp() {
+        FakeApplication application = Fixtures.newApplication();
+        if ("memory".equals(source)) {
+            PermissionManager.setStateSource(
+                    new InMemoryPermissionStateSource().grant(Fixtures.PERMISSION_STRINGS));
+        } else {
+            application.grant(Fixtures.PERMISSION_STRINGS);
+        }
+        mActivity = new FakeApplication.FakeActivity(application);
+    }
+
+    @TearDown
+    public void tearDown() {
+        PermissionManager.setStateSource(null);
+    }
+
+    @Benchmark
+    public OpEntity assortEnums() {
+        OpEntity opEntity = new OpEntity(mActivity, null);
+        for (Permission permission : Fixtures.PERMISSIONS) {
+            PermissionManager.assortPermission(opEntity, permission);
+        }
+        return opEntity;
+    }
+
+    @Benchmark
+    public OpEntity assortStrings() {
+        OpEntity opEntity = new OpEntity(mActivity, null);
+        for (String permission : Fixtures.PERMISSION_STRINGS) {
+            PermissionManager.assortPermission(opEntity, permission);
+        }
+        // 非 Permission 枚举（未注册）的权限
+        PermissionManager.assortPermission(opEntity, Manifest.permission.SYSTEM_ALERT_WINDOW);
+        return opEntity;
+    }
+
+    @Benchmark
+    public boolean requestAlreadyGranted() {
+        return PermissionManager.request(mActivity, Fixtures.CALLBACK, Fixtures.PERMISSIONS);
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.aliya.permission;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link PermissionManager#checkPermission(android.content.Context, String...)} 等检查权限的开销
+ * <p>
+ * 注：FakeApplication 检查权限没有 IPC，uncached 只反映库本身的开销（含一次批量快照的构建）
+ *
+ * @author a_liYa
+ * @date 2026/10/18 18:30.
+ */
+@State(Scope.Thread)
+public class CheckPermissionBenchmark {
+
+    private FakeApplication mApplication;
+
+    @Setup
+    public void setUp() {
+        mApplication = Fixtures.newApplication();
+        mApplication.grant(Fixtures.PERMISSION_STRINGS);
+    }
+
+    @Benchmark
+    public boolean checkStrings() {
+        return PermissionManager.checkPermission(mApplication, Fixtures.PERMISSION_STRINGS);
+    }
+
+    @Benchmark
+    public boolean checkEnums() {
+        return PermissionManager.checkPermission(mApplication, Fixtures.PERMISSIONS);
+    }
+
+    @Benchmark
+    public boolean checkStringsUncached() {
+        PermissionManager.sGrantCache.invalidate();
+        return PermissionManager.checkPermission(mApplication, Fixtures.PERMISSION_STRINGS);
+    }
+
+    @Benchmark
+    public PermissionSnapshot snapshot() {
+        return PermissionManager.snapshot(mApplication);
+    }
+
+}
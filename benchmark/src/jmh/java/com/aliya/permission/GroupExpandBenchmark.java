@@ -0,0 +1,68 @@
+package com.aliya.permission;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+/**
+ * request(..., Permission.Group...) 的权限组展开开销
+ *
+ * @author a_liYa
+ * @date 2026/10/18 18:40.
+ */
+@State(Scope.Thread)
+public class GroupExpandBenchmark {
+
+    private static final Permission.Group[] GROUPS = {
+            Permission.Group.LOCATION,
+            Permission.Group.CAMERA,
+            Permission.Group.STORAGE,
+            Permission.Group.LOCATION,
+            Permission.Group.MICROPHONE,
+    };
+
+    private FakeApplication.FakeActivity mActivity;
+
+    @Setup
+    public void setUp() {
+        FakeApplication application = Fixtures.newApplication();
+        for (Permission permission : Permission.Group.expand(GROUPS)) {
+            application.grant(permission.getPermission());
+        }
+        mActivity = new FakeApplication.FakeActivity(application);
+    }
+
+    @Benchmark
+    public Permission[] expand() {
+        return Permission.Group.expand(GROUPS);
+    }
+
+    /**
+     * 对照：逐组数组扩容拷贝，不去重
+     */
+    @Benchmark
+    public Permission[] concat() {
+        Permission[] permissions = null;
+        for (Permission.Group group : GROUPS) {
+            Permission[] groupPermissions = group.getGroup();
+            if (permissions == null) {
+                permissions = groupPermissions;
+            } else {
+                permissions = Arrays.copyOf(permissions,
+                        permissions.length + groupPermissions.length);
+                System.arraycopy(groupPermissions, 0, permissions,
+                        permissions.length - groupPermissions.length, groupPermissions.length);
+            }
+        }
+        return permissions;
+    }
+
+    @Benchmark
+    public boolean requestGroups() {
+        return PermissionManager.request(mActivity, Fixtures.CALLBACK, GROUPS);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.aliya.permission;
+
+import android.content.Intent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link ResultHelper} 请求与结果分发开销，fake Fragment 同步返回结果
+ *
+ * @author a_liYa
+ * @date 2026/10/18 18:45.
+ */
+@State(Scope.Thread)
+public class ResultDispatchBenchmark {
+
+    private static final Intent INTENT = new Intent();
+
+    private static final ResultHelper.OnActivityResultCallback ACTIVITY_RESULT_CALLBACK =
+            new ResultHelper.OnActivityResultCallback() {
+                @Override
+                public void onActivityResult(int requestCode, int resultCode, Intent data) {
+                }
+            };
+
+    private FakeApplication.FakeActivity mActivity;
+
+    @Setup
+    public void setUp() {
+        // 未授权：每次申请都经过 排队 -> Fragment -> 结果处理 -> 回调
+        mActivity = new FakeApplication.FakeActivity(Fixtures.newApplication());
+    }
+
+    @Benchmark
+    public boolean requestRoundTrip() {
+        return PermissionManager.request(mActivity, Fixtures.CALLBACK, Permission.CAMERA);
+    }
+
+    @Benchmark
+    public boolean startActivityForResult() {
+        return ResultHelper.startActivityForResult(mActivity, INTENT, ACTIVITY_RESULT_CALLBACK);
+    }
+
+}
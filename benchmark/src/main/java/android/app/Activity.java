@@ -0,0 +1,53 @@
+package android.app;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.Intent;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class Activity extends ContextWrapper {
+
+    public static final int RESULT_CANCELED = 0;
+    public static final int RESULT_OK = -1;
+
+    private final FragmentManagerImpl mFragments = new FragmentManagerImpl(this);
+
+    public Activity() {
+        super(null);
+    }
+
+    @Override
+    protected void attachBaseContext(Context base) {
+        super.attachBaseContext(base);
+    }
+
+    public FragmentManager getFragmentManager() {
+        return mFragments;
+    }
+
+    public boolean shouldShowRequestPermissionRationale(String permission) {
+        return true;
+    }
+
+    public boolean isFinishing() {
+        return false;
+    }
+
+    public boolean isDestroyed() {
+        return false;
+    }
+
+    public boolean isChangingConfigurations() {
+        return false;
+    }
+
+    public final Application getApplication() {
+        Context base = getBaseContext();
+        return base instanceof Application ? (Application) base : null;
+    }
+
+    public void startActivityForResult(Intent intent, int requestCode) {
+    }
+}
@@ -0,0 +1,14 @@
+package android.app;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class AppOpsManager {
+
+    public static final int MODE_ALLOWED = 0;
+    public static final int MODE_IGNORED = 1;
+
+    public int checkOpNoThrow(String op, int uid, String packageName) {
+        return MODE_IGNORED;
+    }
+}
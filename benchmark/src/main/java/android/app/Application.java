@@ -0,0 +1,53 @@
+package android.app;
+
+import android.content.ContextWrapper;
+import android.os.Bundle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class Application extends ContextWrapper {
+
+    private final List<ActivityLifecycleCallbacks> mCallbacks = new ArrayList<>();
+
+    public Application() {
+        super(null);
+    }
+
+    public interface ActivityLifecycleCallbacks {
+        void onActivityCreated(Activity activity, Bundle savedInstanceState);
+
+        void onActivityStarted(Activity activity);
+
+        void onActivityResumed(Activity activity);
+
+        void onActivityPaused(Activity activity);
+
+        void onActivityStopped(Activity activity);
+
+        void onActivitySaveInstanceState(Activity activity, Bundle outState);
+
+        void onActivityDestroyed(Activity activity);
+    }
+
+    public void registerActivityLifecycleCallbacks(ActivityLifecycleCallbacks callback) {
+        synchronized (mCallbacks) {
+            mCallbacks.add(callback);
+        }
+    }
+
+    public void unregisterActivityLifecycleCallbacks(ActivityLifecycleCallbacks callback) {
+        synchronized (mCallbacks) {
+            mCallbacks.remove(callback);
+        }
+    }
+
+    protected ActivityLifecycleCallbacks[] collectActivityLifecycleCallbacks() {
+        synchronized (mCallbacks) {
+            return mCallbacks.toArray(new ActivityLifecycleCallbacks[0]);
+        }
+    }
+}
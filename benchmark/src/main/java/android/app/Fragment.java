@@ -0,0 +1,130 @@
+package android.app;
+
+import android.content.ActivityNotFoundException;
+import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.os.Bundle;
+import android.os.Process;
+
+import java.util.ArrayDeque;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ * <p>
+ * 权限申请、startActivityForResult 均同步返回结果：权限结果为宿主当前的授权状态，
+ * Activity 结果为 {@link Activity#RESULT_CANCELED}
+ * <p>
+ * 单元测试可开启 {@link #sDeferResults}，模拟系统异步返回结果
+ */
+public class Fragment {
+
+    /**
+     * true : 权限申请结果不再同步返回，按申请顺序暂存，由 {@link #deliverNext()} 分发
+     */
+    public static boolean sDeferResults;
+
+    private static final ArrayDeque<PendingRequest> sPending = new ArrayDeque<>();
+
+    /**
+     * 一次等待系统结果的权限申请
+     */
+    public static final class PendingRequest {
+        public final String[] permissions;
+        final Fragment fragment;
+        final int requestCode;
+
+        PendingRequest(Fragment fragment, String[] permissions, int requestCode) {
+            this.fragment = fragment;
+            this.permissions = permissions;
+            this.requestCode = requestCode;
+        }
+    }
+
+    /**
+     * @return 最早的未分发申请，null : 没有
+     */
+    public static PendingRequest peekPending() {
+        return sPending.peek();
+    }
+
+    public static int pendingCount() {
+        return sPending.size();
+    }
+
+    /**
+     * 分发最早的申请结果，结果为宿主此时的授权状态（即用户在弹框中的选择）
+     *
+     * @return false : 没有等待中的申请
+     */
+    public static boolean deliverNext() {
+        PendingRequest request = sPending.poll();
+        if (request == null) return false;
+        request.fragment.dispatchPermissionsResult(request.permissions, request.requestCode);
+        return true;
+    }
+
+    public static void clearPending() {
+        sPending.clear();
+    }
+
+    Activity mActivity;
+    boolean mAdded;
+
+    public void onCreate(Bundle savedInstanceState) {
+    }
+
+    public void onDestroy() {
+    }
+
+    public void onRequestPermissionsResult(int requestCode, String[] permissions,
+                                           int[] grantResults) {
+    }
+
+    public void onActivityResult(int requestCode, int resultCode, Intent data) {
+    }
+
+    public final void requestPermissions(String[] permissions, int requestCode) {
+        if (sDeferResults) {
+            sPending.offer(new PendingRequest(this, permissions, requestCode));
+        } else {
+            dispatchPermissionsResult(permissions, requestCode);
+        }
+    }
+
+    private void dispatchPermissionsResult(String[] permissions, int requestCode) {
+        int[] grantResults = new int[permissions.length];
+        for (int i = 0; i < permissions.length; i++) {
+            grantResults[i] = mActivity.checkPermission(permissions[i], Process.myPid(),
+                    Process.myUid()) == PackageManager.PERMISSION_GRANTED
+                    ? PackageManager.PERMISSION_GRANTED : PackageManager.PERMISSION_DENIED;
+        }
+        onRequestPermissionsResult(requestCode, permissions, grantResults);
+    }
+
+    public void startActivityForResult(Intent intent, int requestCode) {
+        startActivityForResult(intent, requestCode, null);
+    }
+
+    public void startActivityForResult(Intent intent, int requestCode, Bundle options) {
+        if (intent.resolveActivity(mActivity.getPackageManager()) == null) {
+            throw new ActivityNotFoundException("No Activity found to handle " + intent);
+        }
+        onActivityResult(requestCode, Activity.RESULT_CANCELED, null);
+    }
+
+    public final boolean isAdded() {
+        return mAdded;
+    }
+
+    public final boolean isRemoving() {
+        return false;
+    }
+
+    public final boolean isDetached() {
+        return false;
+    }
+
+    public final Activity getActivity() {
+        return mActivity;
+    }
+}
@@ -0,0 +1,13 @@
+package android.app;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public abstract class FragmentManager {
+
+    public abstract FragmentTransaction beginTransaction();
+
+    public abstract Fragment findFragmentByTag(String tag);
+
+    public abstract boolean executePendingTransactions();
+}
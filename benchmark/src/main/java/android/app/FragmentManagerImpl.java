@@ -0,0 +1,67 @@
+package android.app;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fake：仅用于 JVM 基准测试，事务提交即执行
+ */
+final class FragmentManagerImpl extends FragmentManager {
+
+    private final Activity mHost;
+    private final Map<String, Fragment> mFragments = new HashMap<>();
+
+    FragmentManagerImpl(Activity host) {
+        mHost = host;
+    }
+
+    @Override
+    public FragmentTransaction beginTransaction() {
+        return new FragmentTransaction() {
+
+            private Fragment mFragment;
+            private String mTag;
+
+            @Override
+            public FragmentTransaction add(Fragment fragment, String tag) {
+                mFragment = fragment;
+                mTag = tag;
+                return this;
+            }
+
+            @Override
+            public int commit() {
+                mFragments.put(mTag, mFragment);
+                mFragment.mActivity = mHost;
+                mFragment.mAdded = true;
+                mFragment.onCreate(null);
+                return 0;
+            }
+
+            @Override
+            public int commitAllowingStateLoss() {
+                return commit();
+            }
+
+            @Override
+            public void commitNow() {
+                commit();
+            }
+
+            @Override
+            public void commitNowAllowingStateLoss() {
+                commit();
+            }
+        };
+    }
+
+    @Override
+    public Fragment findFragmentByTag(String tag) {
+        return mFragments.get(tag);
+    }
+
+    @Override
+    public boolean executePendingTransactions() {
+        return false;
+    }
+}
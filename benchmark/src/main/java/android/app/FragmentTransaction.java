@@ -0,0 +1,17 @@
+package android.app;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public abstract class FragmentTransaction {
+
+    public abstract FragmentTransaction add(Fragment fragment, String tag);
+
+    public abstract int commit();
+
+    public abstract int commitAllowingStateLoss();
+
+    public abstract void commitNow();
+
+    public abstract void commitNowAllowingStateLoss();
+}
@@ -0,0 +1,11 @@
+package android.content;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class ActivityNotFoundException extends RuntimeException {
+
+    public ActivityNotFoundException(String message) {
+        super(message);
+    }
+}
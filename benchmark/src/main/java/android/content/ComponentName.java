@@ -0,0 +1,23 @@
+package android.content;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public final class ComponentName {
+
+    private final String mPackage;
+    private final String mClass;
+
+    public ComponentName(String pkg, String cls) {
+        mPackage = pkg;
+        mClass = cls;
+    }
+
+    public String getPackageName() {
+        return mPackage;
+    }
+
+    public String getClassName() {
+        return mClass;
+    }
+}
@@ -0,0 +1,7 @@
+package android.content;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class ContentResolver {
+}
@@ -0,0 +1,26 @@
+package android.content;
+
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public abstract class Context {
+
+    public static final String APP_OPS_SERVICE = "appops";
+
+    public abstract Context getApplicationContext();
+
+    public abstract ApplicationInfo getApplicationInfo();
+
+    public abstract PackageManager getPackageManager();
+
+    public abstract String getPackageName();
+
+    public abstract int checkPermission(String permission, int pid, int uid);
+
+    public abstract ContentResolver getContentResolver();
+
+    public abstract Object getSystemService(String name);
+}
@@ -0,0 +1,40 @@
+package android.content;
+
+import android.content.pm.PackageManager;
+import android.net.Uri;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class Intent {
+
+    public Intent() {
+    }
+
+    public Intent(String action) {
+    }
+
+    public Intent(String action, Uri uri) {
+    }
+
+    public Intent setData(Uri uri) {
+        return this;
+    }
+
+    public Intent addFlags(int flags) {
+        return this;
+    }
+
+    public Intent putExtra(String name, String value) {
+        return this;
+    }
+
+    /**
+     * 测试可设置为 false，模拟设备上没有可以处理该 Intent 的 Activity
+     */
+    public static volatile boolean sResolvable = true;
+
+    public ComponentName resolveActivity(PackageManager pm) {
+        return sResolvable ? new ComponentName("com.android.settings", "Settings") : null;
+    }
+}
@@ -0,0 +1,12 @@
+package android.content.pm;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class ApplicationInfo {
+
+    public static final int FLAG_DEBUGGABLE = 1 << 1;
+
+    public int flags;
+    public int targetSdkVersion;
+}
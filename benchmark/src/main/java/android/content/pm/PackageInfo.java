@@ -0,0 +1,12 @@
+package android.content.pm;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class PackageInfo {
+
+    public static final int REQUESTED_PERMISSION_GRANTED = 1 << 1;
+
+    public String[] requestedPermissions;
+    public int[] requestedPermissionsFlags;
+}
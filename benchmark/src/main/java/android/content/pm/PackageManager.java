@@ -0,0 +1,19 @@
+package android.content.pm;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public abstract class PackageManager {
+
+    public static final int PERMISSION_GRANTED = 0;
+    public static final int PERMISSION_DENIED = -1;
+    public static final int GET_PERMISSIONS = 0x00001000;
+
+    public static class NameNotFoundException extends Exception {
+    }
+
+    public abstract PackageInfo getPackageInfo(String packageName, int flags)
+            throws NameNotFoundException;
+
+    public abstract boolean canRequestPackageInstalls();
+}
@@ -0,0 +1,11 @@
+package android.net;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public abstract class Uri {
+
+    public static Uri parse(String uriString) {
+        return null;
+    }
+}
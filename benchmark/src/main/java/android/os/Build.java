@@ -0,0 +1,30 @@
+package android.os;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class Build {
+
+    public static class VERSION {
+        /**
+         * 通过 -Dsdk=xx 模拟不同系统版本，默认 30
+         */
+        public static final int SDK_INT = Integer.getInteger("sdk", 30);
+    }
+
+    public static class VERSION_CODES {
+        public static final int JELLY_BEAN = 16;
+        public static final int JELLY_BEAN_MR1 = 17;
+        public static final int JELLY_BEAN_MR2 = 18;
+        public static final int KITKAT = 19;
+        public static final int LOLLIPOP = 21;
+        public static final int M = 23;
+        public static final int N = 24;
+        public static final int O = 26;
+        public static final int O_MR1 = 27;
+        public static final int P = 28;
+        public static final int Q = 29;
+        public static final int R = 30;
+        public static final int TIRAMISU = 33;
+    }
+}
@@ -0,0 +1,28 @@
+package android.os;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class Handler {
+
+    public Handler(Looper looper) {
+    }
+
+    /**
+     * 同步执行
+     */
+    public boolean post(Runnable r) {
+        r.run();
+        return true;
+    }
+
+    /**
+     * 忽略延时任务
+     */
+    public boolean postDelayed(Runnable r, long delayMillis) {
+        return true;
+    }
+
+    public final void removeCallbacks(Runnable r) {
+    }
+}
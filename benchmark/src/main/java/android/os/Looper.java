@@ -0,0 +1,20 @@
+package android.os;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public final class Looper {
+
+    private static final Looper sMainLooper = new Looper();
+
+    /**
+     * 基准测试线程即主线程
+     */
+    public static Looper getMainLooper() {
+        return sMainLooper;
+    }
+
+    public static Looper myLooper() {
+        return sMainLooper;
+    }
+}
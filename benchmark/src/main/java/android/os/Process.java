@@ -0,0 +1,15 @@
+package android.os;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class Process {
+
+    public static int myPid() {
+        return 1;
+    }
+
+    public static int myUid() {
+        return 10001;
+    }
+}
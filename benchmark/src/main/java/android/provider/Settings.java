@@ -0,0 +1,41 @@
+package android.provider;
+
+import android.content.ContentResolver;
+import android.content.Context;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public final class Settings {
+
+    public static final String ACTION_APPLICATION_DETAILS_SETTINGS =
+            "android.settings.APPLICATION_DETAILS_SETTINGS";
+    public static final String ACTION_MANAGE_OVERLAY_PERMISSION =
+            "android.settings.action.MANAGE_OVERLAY_PERMISSION";
+    public static final String ACTION_MANAGE_WRITE_SETTINGS =
+            "android.settings.action.MANAGE_WRITE_SETTINGS";
+    public static final String ACTION_MANAGE_APP_ALL_FILES_ACCESS_PERMISSION =
+            "android.settings.MANAGE_APP_ALL_FILES_ACCESS_PERMISSION";
+    public static final String ACTION_MANAGE_UNKNOWN_APP_SOURCES =
+            "android.settings.MANAGE_UNKNOWN_APP_SOURCES";
+    public static final String ACTION_NOTIFICATION_LISTENER_SETTINGS =
+            "android.settings.ACTION_NOTIFICATION_LISTENER_SETTINGS";
+
+    public static boolean canDrawOverlays(Context context) {
+        return false;
+    }
+
+    public static final class System {
+
+        public static boolean canWrite(Context context) {
+            return false;
+        }
+    }
+
+    public static final class Secure {
+
+        public static String getString(ContentResolver resolver, String name) {
+            return null;
+        }
+    }
+}
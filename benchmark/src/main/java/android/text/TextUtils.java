@@ -0,0 +1,15 @@
+package android.text;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public class TextUtils {
+
+    public static boolean equals(CharSequence a, CharSequence b) {
+        return a == b || (a != null && a.equals(b));
+    }
+
+    public static boolean isEmpty(CharSequence str) {
+        return str == null || str.length() == 0;
+    }
+}
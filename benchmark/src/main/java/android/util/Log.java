@@ -0,0 +1,19 @@
+package android.util;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 Android framework
+ */
+public final class Log {
+
+    public static int w(String tag, String msg) {
+        return 0;
+    }
+
+    public static int w(String tag, String msg, Throwable tr) {
+        return 0;
+    }
+
+    public static int e(String tag, String msg, Throwable tr) {
+        return 0;
+    }
+}
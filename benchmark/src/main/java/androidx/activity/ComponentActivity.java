@@ -0,0 +1,15 @@
+package androidx.activity;
+
+import android.app.Activity;
+
+import androidx.activity.result.ActivityResultRegistry;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 androidx 依赖
+ */
+public class ComponentActivity extends Activity {
+
+    public final ActivityResultRegistry getActivityResultRegistry() {
+        throw new UnsupportedOperationException();
+    }
+}
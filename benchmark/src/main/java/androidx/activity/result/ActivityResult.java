@@ -0,0 +1,17 @@
+package androidx.activity.result;
+
+import android.content.Intent;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 androidx 依赖
+ */
+public final class ActivityResult {
+
+    public int getResultCode() {
+        return 0;
+    }
+
+    public Intent getData() {
+        return null;
+    }
+}
@@ -0,0 +1,9 @@
+package androidx.activity.result;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 androidx 依赖
+ */
+public interface ActivityResultCallback<O> {
+
+    void onActivityResult(O result);
+}
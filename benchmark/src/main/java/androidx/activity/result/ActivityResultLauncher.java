@@ -0,0 +1,12 @@
+package androidx.activity.result;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 androidx 依赖
+ */
+public abstract class ActivityResultLauncher<I> {
+
+    public void launch(I input) {
+    }
+
+    public abstract void unregister();
+}
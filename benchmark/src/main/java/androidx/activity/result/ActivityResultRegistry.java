@@ -0,0 +1,14 @@
+package androidx.activity.result;
+
+import androidx.activity.result.contract.ActivityResultContract;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 androidx 依赖
+ */
+public abstract class ActivityResultRegistry {
+
+    public final <I, O> ActivityResultLauncher<I> register(String key,
+            ActivityResultContract<I, O> contract, ActivityResultCallback<O> callback) {
+        throw new UnsupportedOperationException();
+    }
+}
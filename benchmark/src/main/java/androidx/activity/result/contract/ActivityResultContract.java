@@ -0,0 +1,7 @@
+package androidx.activity.result.contract;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 androidx 依赖
+ */
+public abstract class ActivityResultContract<I, O> {
+}
@@ -0,0 +1,21 @@
+package androidx.activity.result.contract;
+
+import android.content.Intent;
+
+import androidx.activity.result.ActivityResult;
+
+import java.util.Map;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 androidx 依赖
+ */
+public final class ActivityResultContracts {
+
+    public static final class RequestMultiplePermissions
+            extends ActivityResultContract<String[], Map<String, Boolean>> {
+    }
+
+    public static final class StartActivityForResult
+            extends ActivityResultContract<Intent, ActivityResult> {
+    }
+}
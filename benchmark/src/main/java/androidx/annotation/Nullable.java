@@ -0,0 +1,7 @@
+package androidx.annotation;
+
+/**
+ * Fake：仅用于 JVM 基准测试，代替 androidx 依赖
+ */
+public @interface Nullable {
+}
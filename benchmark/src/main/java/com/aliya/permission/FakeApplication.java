@@ -0,0 +1,143 @@
+package com.aliya.permission;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 内存中的 Application：授权状态保存在集合中，检查权限没有 IPC
+ *
+ * @author a_liYa
+ * @date 2026/10/18 18:10.
+ */
+public class FakeApplication extends Application {
+
+    private final Set<String> mDeclared = new HashSet<>();
+    private final Set<String> mGranted = Collections.synchronizedSet(new HashSet<String>());
+    private final ApplicationInfo mApplicationInfo = new ApplicationInfo();
+    private final ContentResolver mContentResolver = new ContentResolver();
+
+    private final AtomicInteger mPackageInfoCount = new AtomicInteger();
+
+    private final PackageManager mPackageManager = new PackageManager() {
+        @Override
+        public PackageInfo getPackageInfo(String packageName, int flags) {
+            mPackageInfoCount.incrementAndGet();
+            PackageInfo packageInfo = new PackageInfo();
+            packageInfo.requestedPermissions = mDeclared.toArray(new String[0]);
+            packageInfo.requestedPermissionsFlags = new int[mDeclared.size()];
+            for (int i = 0; i < packageInfo.requestedPermissions.length; i++) {
+                if (mGranted.contains(packageInfo.requestedPermissions[i])) {
+                    packageInfo.requestedPermissionsFlags[i] =
+                            PackageInfo.REQUESTED_PERMISSION_GRANTED;
+                }
+            }
+            return packageInfo;
+        }
+
+        @Override
+        public boolean canRequestPackageInstalls() {
+            return false;
+        }
+    };
+
+    /**
+     * @param declared Manifest 中注册的权限
+     */
+    public FakeApplication(String... declared) {
+        Collections.addAll(mDeclared, declared);
+    }
+
+    public void grant(String... permissions) {
+        Collections.addAll(mGranted, permissions);
+    }
+
+    public void revoke(String... permissions) {
+        for (String permission : permissions) {
+            mGranted.remove(permission);
+        }
+    }
+
+    /**
+     * @return 批量查询授权状态（PackageManager#getPackageInfo，真机上为一次 IPC）的次数
+     */
+    public int getPackageInfoCount() {
+        return mPackageInfoCount.get();
+    }
+
+    /**
+     * 模拟 Activity#onResume 生命周期回调
+     */
+    public void dispatchActivityResumed(Activity activity) {
+        for (ActivityLifecycleCallbacks callback : collectActivityLifecycleCallbacks()) {
+            callback.onActivityResumed(activity);
+        }
+    }
+
+    @Override
+    public Context getApplicationContext() {
+        return this;
+    }
+
+    @Override
+    public ApplicationInfo getApplicationInfo() {
+        return mApplicationInfo;
+    }
+
+    @Override
+    public PackageManager getPackageManager() {
+        return mPackageManager;
+    }
+
+    @Override
+    public String getPackageName() {
+        return "com.aliya.permission.benchmark";
+    }
+
+    @Override
+    public int checkPermission(String permission, int pid, int uid) {
+        return mGranted.contains(permission)
+                ? PackageManager.PERMISSION_GRANTED : PackageManager.PERMISSION_DENIED;
+    }
+
+    @Override
+    public ContentResolver getContentResolver() {
+        return mContentResolver;
+    }
+
+    @Override
+    public Object getSystemService(String name) {
+        return null;
+    }
+
+    public static class FakeActivity extends Activity {
+
+        private boolean mChangingConfigurations;
+
+        public FakeActivity(FakeApplication application) {
+            attachBaseContext(application);
+        }
+
+        /**
+         * 模拟配置变更（如：旋转屏幕）导致的销毁重建
+         */
+        public void setChangingConfigurations(boolean changing) {
+            mChangingConfigurations = changing;
+        }
+
+        @Override
+        public boolean isChangingConfigurations() {
+            return mChangingConfigurations;
+        }
+    }
+
+}
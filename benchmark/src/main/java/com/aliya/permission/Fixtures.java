@@ -0,0 +1,70 @@
+package com.aliya.permission;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * 基准测试、单元测试公用数据
+ *
+ * @author a_liYa
+ * @date 2026/10/18 18:20.
+ */
+final class Fixtures {
+
+    static final Permission[] PERMISSIONS = {
+            Permission.CAMERA,
+            Permission.LOCATION_COARSE,
+            Permission.LOCATION_FINE,
+            Permission.STORAGE_READ,
+            Permission.STORAGE_WRITE,
+            Permission.MICROPHONE_RECORD_AUDIO,
+    };
+
+    static final String[] PERMISSION_STRINGS = new String[PERMISSIONS.length];
+
+    static {
+        for (int i = 0; i < PERMISSIONS.length; i++) {
+            PERMISSION_STRINGS[i] = PERMISSIONS[i].getPermission();
+        }
+    }
+
+    static final PermissionCallback CALLBACK = new PermissionCallback() {
+        @Override
+        public void onGranted(boolean isAlready) {
+        }
+
+        @Override
+        public void onDenied(@NonNull List<String> deniedPermissions,
+                             @Nullable List<String> neverAskPermissions) {
+        }
+    };
+
+    /**
+     * @return 注册了全部 {@link Permission} 的 Application
+     */
+    static FakeApplication newApplication() {
+        Permission[] values = Permission.values();
+        String[] declared = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            declared[i] = values[i].getPermission();
+        }
+        FakeApplication application = new FakeApplication(declared);
+        PermissionManager.initContext(application);
+        return application;
+    }
+
+    private static FakeApplication sSharedApplication;
+
+    /**
+     * PermissionManager 只记录首个初始化的 Context，同一进程中的单元测试共用此 Application
+     */
+    static synchronized FakeApplication sharedApplication() {
+        if (sSharedApplication == null) sSharedApplication = newApplication();
+        return sSharedApplication;
+    }
+
+    private Fixtures() {
+    }
+}
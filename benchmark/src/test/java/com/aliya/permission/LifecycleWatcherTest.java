@@ -0,0 +1,172 @@
+package com.aliya.permission;
+
+import com.aliya.permission.abs.AbsPermissionCallback;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link LifecycleWatcher} 回到前台判断：页面跳转、旋转屏幕不算回到前台，
+ * 以回到前台时的统一检查（{@link PermissionManager#onAppForeground()}）是否通知监听、
+ * 是否清空不再询问记录为准
+ *
+ * @author a_liYa
+ * @date 2026/10/18 19:05.
+ */
+public class LifecycleWatcherTest {
+
+    private static final String CAMERA = Permission.CAMERA.getPermission();
+
+    private FakeApplication mApplication;
+    private LifecycleWatcher mWatcher;
+    private int mChangedCount;
+
+    private final PermissionObserver mObserver = new PermissionObserver() {
+        @Override
+        public void onChanged(@NonNull List<String> grantedPermissions,
+                              @NonNull List<String> revokedPermissions) {
+            mChangedCount++;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        mApplication = Fixtures.sharedApplication();
+        mApplication.revoke(CAMERA);
+        PermissionManager.reset();
+        PermissionManager.observe(mApplication, mObserver, CAMERA);
+        mWatcher = new LifecycleWatcher();
+        // 之后的授权变化只在回到前台时被检查到
+        mApplication.grant(CAMERA);
+    }
+
+    @After
+    public void tearDown() {
+        mApplication.revoke(CAMERA);
+        PermissionManager.reset();
+    }
+
+    /**
+     * 在已运行的 A 中初始化（收不到 A 的 start），之后 A -> B -> C
+     */
+    @Test
+    public void navigationAfterLateRegistration_isNotForeground() {
+        FakeApplication.FakeActivity a = new FakeApplication.FakeActivity(mApplication);
+        FakeApplication.FakeActivity b = new FakeApplication.FakeActivity(mApplication);
+        FakeApplication.FakeActivity c = new FakeApplication.FakeActivity(mApplication);
+
+        navigate(a, b);
+        navigate(b, c);
+        assertEquals(0, mChangedCount);
+    }
+
+    @Test
+    public void returnFromBackground_isForeground() {
+        FakeApplication.FakeActivity a = new FakeApplication.FakeActivity(mApplication);
+        FakeApplication.FakeActivity b = new FakeApplication.FakeActivity(mApplication);
+        navigate(a, b);
+
+        mWatcher.onActivityPaused(b);
+        mWatcher.onActivityStopped(b);
+        assertEquals(0, mChangedCount);
+
+        // resume 时统一检查，快照只加载一次，之后的检查命中缓存
+        int queries = mApplication.getPackageInfoCount();
+        mWatcher.onActivityStarted(b);
+        mWatcher.onActivityResumed(b);
+        assertEquals(1, mChangedCount);
+        assertTrue(PermissionManager.checkPermission(mApplication, CAMERA));
+        assertEquals(queries + 1, mApplication.getPackageInfoCount());
+    }
+
+    @Test
+    public void configurationChange_isNotForeground() {
+        FakeApplication.FakeActivity a = new FakeApplication.FakeActivity(mApplication);
+        mWatcher.onActivityStarted(a);
+        mWatcher.onActivityResumed(a);
+
+        a.setChangingConfigurations(true);
+        mWatcher.onActivityPaused(a);
+        mWatcher.onActivityStopped(a);
+        mWatcher.onActivityDestroyed(a);
+
+        FakeApplication.FakeActivity recreated = new FakeApplication.FakeActivity(mApplication);
+        mWatcher.onActivityCreated(recreated, null);
+        mWatcher.onActivityStarted(recreated);
+        mWatcher.onActivityResumed(recreated);
+        assertEquals(0, mChangedCount);
+    }
+
+    /**
+     * 不再询问记录在页面跳转、旋转屏幕后保留，再次申请直接回调，不经过系统
+     */
+    @Test
+    public void neverAsk_survivesNavigationAndRotation() {
+        FakeApplication.FakeActivity a = new FakeApplication.FakeActivity(mApplication);
+        FakeApplication.FakeActivity b = new FakeApplication.FakeActivity(mApplication);
+        FakeApplication.FakeActivity c = new FakeApplication.FakeActivity(mApplication);
+        mApplication.revoke(CAMERA);
+        PermissionManager.sNeverAsk.add(CAMERA);
+
+        navigate(a, b);
+        c.setChangingConfigurations(true);
+        navigate(b, c);
+        mWatcher.onActivityPaused(c);
+        mWatcher.onActivityStopped(c);
+        mWatcher.onActivityDestroyed(c);
+        FakeApplication.FakeActivity recreated = new FakeApplication.FakeActivity(mApplication);
+        mWatcher.onActivityStarted(recreated);
+        mWatcher.onActivityResumed(recreated);
+        assertTrue(PermissionManager.sNeverAsk.contains(CAMERA));
+
+        // fake 系统申请结果为拒绝且可再次询问：只有直接回调才会是不再询问
+        final List<String> neverAsk = new ArrayList<>();
+        PermissionManager.request(recreated, new AbsPermissionCallback() {
+            @Override
+            public void onDenied(@NonNull List<String> deniedPermissions,
+                                 @Nullable List<String> neverAskPermissions) {
+                if (neverAskPermissions != null) neverAsk.addAll(neverAskPermissions);
+            }
+        }, Permission.CAMERA);
+        assertEquals(Collections.singletonList(CAMERA), neverAsk);
+    }
+
+    @Test
+    public void neverAsk_clearedOnReturnFromBackground() {
+        FakeApplication.FakeActivity a = new FakeApplication.FakeActivity(mApplication);
+        FakeApplication.FakeActivity b = new FakeApplication.FakeActivity(mApplication);
+        mApplication.revoke(CAMERA);
+        PermissionManager.sNeverAsk.add(CAMERA);
+        navigate(a, b);
+
+        mWatcher.onActivityPaused(b);
+        mWatcher.onActivityStopped(b);
+        mWatcher.onActivityStarted(b);
+        mWatcher.onActivityResumed(b);
+        assertFalse(PermissionManager.sNeverAsk.contains(CAMERA));
+    }
+
+    /**
+     * from 启动 to 的系统回调顺序
+     */
+    private void navigate(FakeApplication.FakeActivity from, FakeApplication.FakeActivity to) {
+        mWatcher.onActivityPaused(from);
+        mWatcher.onActivityCreated(to, null);
+        mWatcher.onActivityStarted(to);
+        mWatcher.onActivityResumed(to);
+        mWatcher.onActivityStopped(from);
+    }
+
+}
@@ -0,0 +1,326 @@
+package com.aliya.permission;
+
+import android.Manifest;
+import android.app.Activity;
+import android.app.Fragment;
+import android.content.Intent;
+
+import com.aliya.permission.abs.AbsPermissionMetrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 请求排队调度：同一时刻只有一个请求等待系统结果，其余按 FIFO 排队、合并或重新归类
+ * <p>
+ * fake Fragment 异步返回结果（{@link Fragment#deliverNext()}），结果为此时宿主的授权状态
+ *
+ * @author a_liYa
+ * @date 2026/10/18 19:30.
+ */
+public class PermissionQueueTest {
+
+    private static final String CAMERA = Permission.CAMERA.getPermission();
+    private static final String AUDIO = Permission.MICROPHONE_RECORD_AUDIO.getPermission();
+    private static final String LOCATION = Permission.LOCATION_FINE.getPermission();
+    private static final String OVERLAY = Manifest.permission.SYSTEM_ALERT_WINDOW;
+
+    private FakeApplication mApplication;
+    private FakeApplication.FakeActivity mActivity;
+
+    /**
+     * 回调记录，如："a:granted"、"b:denied"、"c:neverAsk"
+     */
+    private final List<String> mEvents = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        mApplication = Fixtures.sharedApplication();
+        mApplication.revoke(CAMERA, AUDIO, LOCATION);
+        PermissionManager.reset();
+        Fragment.sDeferResults = true;
+        mActivity = new FakeApplication.FakeActivity(mApplication);
+    }
+
+    @After
+    public void tearDown() {
+        // 丢弃未完成的请求，不影响其他测试
+        mApplication.revoke(CAMERA, AUDIO, LOCATION);
+        Fragment.sDeferResults = false;
+        Fragment.clearPending();
+        Intent.sResolvable = true;
+        PermissionManager.reset();
+    }
+
+    @Test
+    public void requests_areSentOneAtATimeInFifoOrder() {
+        request(mActivity, "a", CAMERA);
+        request(mActivity, "b", AUDIO);
+        request(mActivity, "c", LOCATION);
+        assertEquals(1, Fragment.pendingCount());
+
+        assertPending(CAMERA);
+        Fragment.deliverNext();
+        assertPending(AUDIO);
+        Fragment.deliverNext();
+        assertPending(LOCATION);
+        Fragment.deliverNext();
+
+        assertNull(Fragment.peekPending());
+        assertEquals(Arrays.asList("a:denied", "b:denied", "c:denied"), mEvents);
+    }
+
+    @Test
+    public void coveredRequests_shareOneSystemResult() {
+        request(mActivity, "a", CAMERA, AUDIO);
+        request(mActivity, "b", CAMERA);       // 合并到申请中的 a
+        request(mActivity, "c", LOCATION);
+        request(mActivity, "d", LOCATION);     // 合并到排队中的 c
+        request(mActivity, "e", AUDIO);        // 合并到申请中的 a
+
+        mApplication.grant(CAMERA, AUDIO);
+        Fragment.deliverNext();
+        assertEquals(Arrays.asList("a:granted", "b:granted", "e:granted"), mEvents);
+
+        assertPending(LOCATION);
+        Fragment.deliverNext();
+        assertNull(Fragment.peekPending());
+        assertEquals(Arrays.asList("a:granted", "b:granted", "e:granted",
+                "c:denied", "d:denied"), mEvents);
+    }
+
+    @Test
+    public void queuedRequests_areReclassifiedBeforeSending() {
+        request(mActivity, "a", CAMERA);
+        request(mActivity, "b", CAMERA, AUDIO); // 不被 a 覆盖，排队
+        request(mActivity, "c", AUDIO);         // 合并到排队中的 b
+        request(mActivity, "d", CAMERA, LOCATION);
+
+        mApplication.grant(CAMERA);
+        Fragment.deliverNext();
+        // a 的结果已授权 CAMERA，b 只申请 AUDIO
+        assertPending(AUDIO);
+
+        mApplication.grant(AUDIO);
+        Fragment.deliverNext();
+        // d 只申请 LOCATION
+        assertPending(LOCATION);
+        Fragment.deliverNext();
+
+        assertEquals(Arrays.asList("a:granted", "b:granted", "c:granted", "d:denied"), mEvents);
+    }
+
+    @Test
+    public void queuedRequest_grantedWhileWaiting_isAnsweredWithoutSystem() {
+        request(mActivity, "a", CAMERA);
+        request(mActivity, "b", AUDIO);
+        request(mActivity, "c", CAMERA, AUDIO);
+
+        mApplication.grant(CAMERA, AUDIO);
+        Fragment.deliverNext();
+        Fragment.deliverNext();
+
+        assertNull(Fragment.peekPending());
+        assertEquals(Arrays.asList("a:granted", "b:granted", "c:granted"), mEvents);
+    }
+
+    @Test
+    public void destroyedHost_isAbandoned_followersRequeued() {
+        FakeApplication.FakeActivity other = new FakeApplication.FakeActivity(mApplication);
+        request(mActivity, "a", CAMERA);
+        request(other, "b", CAMERA);            // 合并到 a，宿主为 other
+        request(mActivity, "c", AUDIO);         // 与 a 同一宿主，排队
+        request(other, "d", LOCATION);
+
+        Fragment.clearPending();                // 宿主销毁，系统结果不再返回
+        PermissionManager.onActivityDestroyed(mActivity);
+
+        // b 重新排到队首，自己向系统申请
+        assertPending(CAMERA);
+        mApplication.grant(CAMERA);
+        Fragment.deliverNext();
+        assertPending(LOCATION);
+        Fragment.deliverNext();
+
+        assertNull(Fragment.peekPending());
+        assertEquals(Arrays.asList("b:granted", "d:denied"), mEvents);
+    }
+
+    @Test
+    public void configurationChange_defersNextRequestUntilResume() {
+        FakeApplication.FakeActivity other = new FakeApplication.FakeActivity(mApplication);
+        request(mActivity, "a", CAMERA);
+        request(other, "b", AUDIO);
+
+        mActivity.setChangingConfigurations(true);
+        Fragment.clearPending();
+        PermissionManager.onActivityDestroyed(mActivity);
+        assertNull(Fragment.peekPending());
+
+        FakeApplication.FakeActivity recreated = new FakeApplication.FakeActivity(mApplication);
+        PermissionManager.onActivityResumed(recreated);
+        assertPending(AUDIO);
+        Fragment.deliverNext();
+
+        assertEquals(Collections.singletonList("b:denied"), mEvents);
+    }
+
+    @Test
+    public void unrelatedConfigurationChange_doesNotDeferQueue() {
+        request(mActivity, "a", CAMERA);
+        request(mActivity, "b", AUDIO);
+
+        FakeApplication.FakeActivity other = new FakeApplication.FakeActivity(mApplication);
+        other.setChangingConfigurations(true);
+        PermissionManager.onActivityDestroyed(other);
+
+        Fragment.deliverNext();
+        assertPending(AUDIO);
+        Fragment.deliverNext();
+        assertEquals(Arrays.asList("a:denied", "b:denied"), mEvents);
+    }
+
+    /**
+     * 特殊权限在申请中的请求结束后才跳转设置页；没有可处理的设置页时视为拒绝，不影响后续请求
+     */
+    @Test
+    public void specialRequests_waitForInFlightRequest() {
+        request(mActivity, "a", CAMERA);
+        request(mActivity, "b", CAMERA, OVERLAY); // 含特殊权限，不合并
+        request(mActivity, "c", AUDIO);
+
+        Intent.sResolvable = false;
+        assertEquals(Collections.<String>emptyList(), mEvents);
+        Fragment.deliverNext();
+        // b 的 CAMERA 重新归类为拒绝后仍需申请：先申请运行时权限，再跳转设置页
+        assertPending(CAMERA);
+        Fragment.deliverNext();
+        assertEquals(Arrays.asList("a:denied", "b:denied"), mEvents);
+
+        assertPending(AUDIO);
+        Fragment.deliverNext();
+        assertEquals(Arrays.asList("a:denied", "b:denied", "c:denied"), mEvents);
+    }
+
+    /**
+     * 只有已知 rationale 为 true（上一次仅拒绝）之后变为 false 才记为不再询问，之后不再经过系统；
+     * 发起请求前不查询 rationale
+     */
+    @Test
+    public void neverAsk_isCachedOnlyWhenRationaleTurnsFalse() {
+        final int[] rationaleQueries = new int[1];
+        InMemoryPermissionStateSource source = new InMemoryPermissionStateSource() {
+            @Override
+            public boolean shouldShowRequestPermissionRationale(@NonNull Activity activity,
+                                                                @NonNull String permission) {
+                rationaleQueries[0]++;
+                return super.shouldShowRequestPermissionRationale(activity, permission);
+            }
+        };
+        PermissionManager.setStateSource(source);
+
+        // 首次申请 false -> false（弹框被直接关闭）：回调不再询问，但不记录
+        request(mActivity, "a", CAMERA);
+        assertEquals(0, rationaleQueries[0]);
+        Fragment.deliverNext();
+        request(mActivity, "b", CAMERA);
+        assertPending(CAMERA);
+
+        // 仅拒绝：rationale 变为 true
+        source.setRationale(CAMERA, true);
+        Fragment.deliverNext();
+
+        // 再次拒绝且勾选不再询问：true -> false
+        source.setRationale(CAMERA, false);
+        request(mActivity, "c", CAMERA);
+        Fragment.deliverNext();
+
+        // 之后直接回调，不经过系统
+        request(mActivity, "d", CAMERA);
+        assertNull(Fragment.peekPending());
+        assertEquals(Arrays.asList("a:neverAsk", "b:denied", "c:neverAsk", "d:neverAsk"), mEvents);
+        assertEquals(3, rationaleQueries[0]);
+    }
+
+    /**
+     * 每个完成的请求都统计结果，包括已授权、已知不再询问直接回调；耗时统计在回调执行完成之后
+     */
+    @Test
+    public void metrics_countEveryCompletionPath() {
+        final List<String> outcomes = new ArrayList<>();
+        PermissionManager.setMetrics(new AbsPermissionMetrics() {
+            @Override
+            public void onPermissionOutcome(@NonNull String permission, int outcome) {
+                outcomes.add(permission + ":" + outcome);
+            }
+
+            @Override
+            public void onRequestTimings(int requestCode, long classifyNanos, long queueNanos,
+                                         long attachNanos, long dialogNanos, long dispatchNanos) {
+                mEvents.add("timings");
+            }
+        });
+        final List<Runnable> posted = new ArrayList<>();
+        PermissionManager.setCallbackExecutor(new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                posted.add(command);
+            }
+        });
+        mApplication.grant(CAMERA);
+        PermissionManager.sNeverAsk.add(AUDIO);
+
+        request(mActivity, "a", CAMERA);        // 已授权，不经过系统
+        request(mActivity, "b", AUDIO);         // 已知不再询问，直接回调
+        request(mActivity, "c", LOCATION);
+        Fragment.deliverNext();
+
+        assertEquals(Arrays.asList(
+                CAMERA + ":" + PermissionMetrics.OUTCOME_GRANTED,
+                AUDIO + ":" + PermissionMetrics.OUTCOME_NEVER_ASK,
+                LOCATION + ":" + PermissionMetrics.OUTCOME_DENIED), outcomes);
+        // 回调尚未在回调线程执行，不统计耗时
+        assertTrue(mEvents.isEmpty());
+        for (Runnable runnable : posted) runnable.run();
+        assertEquals(Arrays.asList("a:granted", "timings", "b:neverAsk", "timings",
+                "c:denied", "timings"), mEvents);
+    }
+
+    private void request(FakeApplication.FakeActivity activity, final String name,
+                         String... permissions) {
+        PermissionManager.request(activity, new PermissionCallback() {
+            @Override
+            public void onGranted(boolean isAlready) {
+                mEvents.add(name + ":granted");
+            }
+
+            @Override
+            public void onDenied(@NonNull List<String> deniedPermissions,
+                                 @Nullable List<String> neverAskPermissions) {
+                boolean neverAsk = neverAskPermissions != null && !neverAskPermissions.isEmpty();
+                mEvents.add(name + (neverAsk ? ":neverAsk" : ":denied"));
+            }
+        }, permissions);
+    }
+
+    private static void assertPending(String... permissions) {
+        Fragment.PendingRequest pending = Fragment.peekPending();
+        assertArrayEquals(permissions, pending != null ? pending.permissions : null);
+    }
+
+}
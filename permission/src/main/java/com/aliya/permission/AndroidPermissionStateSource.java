@@ -0,0 +1,78 @@
+package com.aliya.permission;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.os.Process;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 默认数据源，直接访问 Android 系统
+ *
+ * @author a_liYa
+ * @date 2026/10/18 18:24.
+ */
+final class AndroidPermissionStateSource implements PermissionStateSource {
+
+    static final AndroidPermissionStateSource INSTANCE = new AndroidPermissionStateSource();
+
+    private AndroidPermissionStateSource() {
+    }
+
+    @Override
+    public boolean checkSelfPermission(@NonNull Context context, @NonNull String permission) {
+        // 对比 PermissionChecker.checkSelfPermission(sContext, permission)
+        return context.checkPermission(permission, Process.myPid(), Process.myUid())
+                == PackageManager.PERMISSION_GRANTED;
+    }
+
+    @Override
+    public Map<String, Boolean> queryGrantStates(@NonNull Context context) {
+        PackageInfo packageInfo;
+        try {
+            packageInfo = context.getPackageManager().getPackageInfo(
+                    context.getPackageName(), PackageManager.GET_PERMISSIONS);
+        } catch (Exception e) {
+            return null;
+        }
+        String[] permissions = packageInfo.requestedPermissions;
+        int[] flags = packageInfo.requestedPermissionsFlags;
+        if (permissions == null) return Collections.emptyMap();
+        if (flags == null || flags.length < permissions.length) return null;
+
+        Map<String, Boolean> states = new HashMap<>(permissions.length * 4 / 3 + 1);
+        for (int i = 0; i < permissions.length; i++) {
+            // 特殊权限授权状态由 AppOps、系统设置决定，flags 不可信
+            if (isSpecialPermission(permissions[i])) continue;
+            states.put(permissions[i],
+                    (flags[i] & PackageInfo.REQUESTED_PERMISSION_GRANTED) != 0);
+        }
+        return states;
+    }
+
+    @Override
+    public boolean isSpecialPermission(@NonNull String permission) {
+        return SpecialPermissions.get(permission) != null;
+    }
+
+    @Override
+    public Boolean checkSpecialPermission(@NonNull Context context, @NonNull String permission) {
+        SpecialPermissionHandler handler = SpecialPermissions.get(permission);
+        return handler != null ? handler.check(context) : null;
+    }
+
+    @Override
+    public boolean shouldShowRequestPermissionRationale(@NonNull Activity activity,
+                                                        @NonNull String permission) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.M
+                && activity.shouldShowRequestPermissionRationale(permission);
+    }
+
+}
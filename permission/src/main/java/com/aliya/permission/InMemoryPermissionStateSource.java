@@ -0,0 +1,100 @@
+package com.aliya.permission;
+
+import android.app.Activity;
+import android.content.Context;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 内存数据源，不访问系统，用于 JVM 单元测试、压测
+ * <p>
+ * 所有状态由调用方设置，线程安全；未设置的权限视为未授权、不需要解释
+ *
+ * @author a_liYa
+ * @date 2026/10/18 18:31.
+ * @see PermissionManager#setStateSource(PermissionStateSource)
+ */
+public class InMemoryPermissionStateSource implements PermissionStateSource {
+
+    private final Set<String> mGranted =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final Set<String> mRationale =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final Map<String, Boolean> mSpecial = new ConcurrentHashMap<>();
+
+    public InMemoryPermissionStateSource grant(String... permissions) {
+        Collections.addAll(mGranted, permissions);
+        return this;
+    }
+
+    public InMemoryPermissionStateSource revoke(String... permissions) {
+        for (String permission : permissions) {
+            mGranted.remove(permission);
+        }
+        return this;
+    }
+
+    /**
+     * @param permission 权限名称
+     * @param show       对应 {@link #shouldShowRequestPermissionRationale(Activity, String)} 返回值
+     */
+    public InMemoryPermissionStateSource setRationale(String permission, boolean show) {
+        if (show) {
+            mRationale.add(permission);
+        } else {
+            mRationale.remove(permission);
+        }
+        return this;
+    }
+
+    /**
+     * 标记为特殊权限并设置授权状态（只有此处标记的权限被视为特殊权限）
+     */
+    public InMemoryPermissionStateSource setSpecial(String permission, boolean granted) {
+        mSpecial.put(permission, granted);
+        return this;
+    }
+
+    public void clear() {
+        mGranted.clear();
+        mRationale.clear();
+        mSpecial.clear();
+    }
+
+    @Override
+    public boolean checkSelfPermission(@NonNull Context context, @NonNull String permission) {
+        return mGranted.contains(permission);
+    }
+
+    @Override
+    public Map<String, Boolean> queryGrantStates(@NonNull Context context) {
+        Map<String, Boolean> states = new HashMap<>();
+        for (String permission : mGranted) {
+            if (!mSpecial.containsKey(permission)) states.put(permission, Boolean.TRUE);
+        }
+        return states;
+    }
+
+    @Override
+    public boolean isSpecialPermission(@NonNull String permission) {
+        return mSpecial.containsKey(permission);
+    }
+
+    @Override
+    public Boolean checkSpecialPermission(@NonNull Context context, @NonNull String permission) {
+        return mSpecial.get(permission);
+    }
+
+    @Override
+    public boolean shouldShowRequestPermissionRationale(@NonNull Activity activity,
+                                                        @NonNull String permission) {
+        return mRationale.contains(permission);
+    }
+
+}
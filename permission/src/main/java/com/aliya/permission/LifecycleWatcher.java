@@ -0,0 +1,90 @@
+package com.aliya.permission;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * 监听 Activity 生命周期，通知 {@link PermissionManager}
+ *
+ * @author a_liYa
+ * @date 2026/10/18 10:20.
+ */
+class LifecycleWatcher implements Application.ActivityLifecycleCallbacks {
+
+    /**
+     * 注册以来是否有 Activity 进入过 pause：没有时应用一直在前台，授权不可能被修改，
+     * 首次 resume 无需使预热（{@link PermissionManager#warmUp}）的缓存失效
+     */
+    private volatile boolean mPaused;
+
+    /**
+     * 已 start 未 stop 的 Activity，由空变为非空表示应用回到前台（主线程访问）
+     * <p>
+     * 注册时已在运行的 Activity 收不到 start，在其 resume / pause 时补记；
+     * 没有记录的 Activity stop 时忽略，避免页面跳转被误判为回到前台
+     */
+    private final Set<Activity> mStarted =
+            Collections.newSetFromMap(new WeakHashMap<Activity, Boolean>());
+
+    /**
+     * 配置变更（如：旋转屏幕）停止的 Activity 即将重建，其重建后的 start 不算回到前台
+     */
+    private boolean mRecreating;
+
+    /**
+     * 已回到前台，等待首个 Activity resume 时统一检查（resume 时缓存失效，在此之前检查会被浪费）
+     */
+    private boolean mForeground;
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+        // 冷启动（注册以来没有 pause）不算回到前台
+        final boolean background = mStarted.isEmpty() && !mRecreating;
+        mRecreating = false;
+        mStarted.add(activity);
+        if (background && mPaused) mForeground = true;
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+        mStarted.add(activity);
+        if (mForeground) {
+            mForeground = false;
+            PermissionManager.onAppForeground();
+        } else if (mPaused) {
+            PermissionManager.onActivityResumed(activity);
+        }
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+        mStarted.add(activity);
+        mPaused = true;
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+        if (mStarted.remove(activity) && activity.isChangingConfigurations()) mRecreating = true;
+        if (mStarted.isEmpty()) mForeground = false; // start 之后没有 resume 又回到后台
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+        mStarted.remove(activity);
+        PermissionManager.onActivityDestroyed(activity);
+    }
+
+}
@@ -5,7 +5,10 @@ import android.app.Activity;
 import java.io.Serializable;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 用来存储权限相关数据
@@ -13,20 +16,41 @@ import java.util.List;
  * @author a_liYa
  * @date 2016/9/18 11:08.
  */
-class OpEntity implements Serializable {
+class OpEntity implements Serializable, Runnable {
 
-    private static int sCode = 0;   // 用来生成 requestCode
+    private static final AtomicInteger sCode = new AtomicInteger();   // 用来生成 requestCode
 
-    List<String> grantedPermissions;   // 授权权限集合
-    List<String> deniedPermissions;    // 拒绝权限集合 包括：不再询问权限
-    List<String> neverAskPermissions;  // 不再询问权限集合
-    List<String> waitPermissions;      // 待申请权限集合
+    final PermissionSet grantedPermissions = new PermissionSet();   // 授权权限集合
+    final PermissionSet deniedPermissions = new PermissionSet();    // 拒绝权限集合 包括：不再询问权限
+    final PermissionSet neverAskPermissions = new PermissionSet();  // 不再询问权限集合
+    final PermissionSet waitPermissions = new PermissionSet();      // 待申请权限集合
+    final PermissionSet specialPermissions = new PermissionSet();   // 待跳转设置页授权的特殊权限
+
+    /**
+     * 已收到运行时权限结果，正在依次跳转特殊权限设置页，不再合并其他请求
+     */
+    boolean specialPhase;
 
     PermissionCallback callback;
+    PermissionFuture future;
+    Executor executor;              // 回调线程池，null 使用默认值
+    boolean dispatchAlready;        // 回调参数 isAlready
     private WeakReference<Activity> mActivityWeak;
 
+    /**
+     * 待申请权限被当前请求完全覆盖、合并等待同一次系统结果的请求
+     */
+    List<OpEntity> attachedEntities;
+
     int requestCode;
 
+    // 各阶段时间戳（纳秒），仅设置了 PermissionMetrics 时记录
+    long startNanos;        // 开始请求
+    long classifiedNanos;   // 权限归类完成
+    long sendNanos;         // 开始向系统发起请求
+    long sentNanos;         // 已向系统发起请求
+    long resultNanos;       // 收到系统结果
+
     OpEntity(Activity activity, PermissionCallback callback) {
         this.mActivityWeak = new WeakReference<>(activity);
         this.callback = callback;
@@ -37,38 +61,155 @@ class OpEntity implements Serializable {
         return mActivityWeak.get();
     }
 
+    /**
+     * 在回调线程池中回调 {@link PermissionCallback}
+     */
+    @Override
+    public void run() {
+        PermissionManager.invokeCallback(this);
+    }
+
     void addGrantedPermission(String permission) {
-        if (grantedPermissions == null) grantedPermissions = new ArrayList<>();
+        grantedPermissions.add(permission);
+    }
 
+    void addGrantedPermission(Permission permission) {
         grantedPermissions.add(permission);
     }
 
     void addDeniedPermission(String permission) {
-        if (deniedPermissions == null) deniedPermissions = new ArrayList<>();
-
         deniedPermissions.add(permission);
     }
 
     void addNeverAskPermission(String permission) {
-        if (neverAskPermissions == null) neverAskPermissions = new ArrayList<>();
-
         neverAskPermissions.add(permission);
         addDeniedPermission(permission);
     }
 
+    void addNeverAskPermission(Permission permission) {
+        neverAskPermissions.add(permission);
+        deniedPermissions.add(permission);
+    }
+
+    void addSpecialPermission(String permission) {
+        specialPermissions.add(permission);
+    }
+
     void addWaitPermission(String permission) {
-        if (waitPermissions == null) waitPermissions = new ArrayList<>();
+        waitPermissions.add(permission);
+    }
 
+    void addWaitPermission(Permission permission) {
         waitPermissions.add(permission);
     }
 
     String[] getWaitPermsArray() {
-        if (waitPermissions != null) {
-            return waitPermissions.toArray(new String[waitPermissions.size()]);
+        if (!waitPermissions.isEmpty()) {
+            return waitPermissions.toArray();
         }
         return null;
     }
 
+    /**
+     * @return true : 异步请求已取消或超时，无需再向系统申请
+     */
+    boolean isCancelled() {
+        return callback == null && future != null && future.isDone();
+    }
+
+    /**
+     * @return true : 宿主为 activity，或宿主已被回收
+     */
+    boolean isHostedBy(Activity activity) {
+        Activity host = mActivityWeak.get();
+        return host == null || host == activity;
+    }
+
+    /**
+     * 宿主销毁，释放回调；异步请求以取消结束
+     */
+    void evict() {
+        callback = null;
+        if (future != null) future.cancel(false);
+    }
+
+    /**
+     * 移除并释放宿主为 activity 的合并请求
+     *
+     * @return true : 有被移除的合并请求
+     */
+    boolean evictAttached(Activity activity) {
+        if (attachedEntities == null) return false;
+
+        boolean evicted = false;
+        for (Iterator<OpEntity> it = attachedEntities.iterator(); it.hasNext(); ) {
+            OpEntity follower = it.next();
+            if (follower.isHostedBy(activity)) {
+                it.remove();
+                follower.evict();
+                evicted = true;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 合并请求，共享当前请求的系统申请结果
+     *
+     * @param follower 待申请权限是当前待申请权限子集的请求
+     */
+    void attach(OpEntity follower) {
+        if (attachedEntities == null) attachedEntities = new ArrayList<>(1);
+
+        attachedEntities.add(follower);
+    }
+
+    /**
+     * 合并等待的请求共享 leader 的系统请求阶段
+     */
+    void copyTimings(OpEntity leader) {
+        sendNanos = leader.sendNanos;
+        sentNanos = leader.sentNanos;
+        resultNanos = leader.resultNanos;
+    }
+
+    /**
+     * 根据系统申请结果归类待申请权限，没有结果的权限（如：申请被中断）视为拒绝
+     *
+     * @param granted  本次结果中授权的权限
+     * @param neverAsk 本次结果中拒绝且不再询问的权限
+     */
+    void applyResult(PermissionSet granted, PermissionSet neverAsk) {
+        grantedPermissions.addIntersection(waitPermissions, granted);
+        neverAskPermissions.addIntersection(waitPermissions, neverAsk);
+        deniedPermissions.addDifference(waitPermissions, granted);
+    }
+
+    /**
+     * @return true : 没有拒绝、也没有待申请的权限
+     */
+    boolean isAllGranted() {
+        return !hasPendingPermissions() && deniedPermissions.isEmpty();
+    }
+
+    /**
+     * @return true : 还有需要向系统申请或跳转设置页授权的权限
+     */
+    boolean hasPendingPermissions() {
+        return !waitPermissions.isEmpty() || !specialPermissions.isEmpty();
+    }
+
+    List<String> getDeniedList() {
+        return deniedPermissions.asList();
+    }
+
+    /**
+     * @return 不再询问权限集合，没有时返回 null
+     */
+    List<String> getNeverAskList() {
+        return neverAskPermissions.isEmpty() ? null : neverAskPermissions.asList();
+    }
+
     /**
      * 生成 request code
      *
@@ -76,9 +217,7 @@ class OpEntity implements Serializable {
      */
     private static int obtainRequestCode() {
         // see android.support.v4.app.BaseFragmentActivityApi14#checkForValidRequestCode(int)
-        if ((sCode & 0xffff0000) != 0) sCode = 0;
-
-        return sCode++;
+        return sCode.getAndIncrement() & 0xffff;
     }
 
 }
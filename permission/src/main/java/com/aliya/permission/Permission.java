@@ -2,6 +2,12 @@ package com.aliya.permission;
 
 import android.Manifest;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * dangerous 高危权限列表
  *
@@ -98,12 +104,49 @@ public enum Permission {
     SMS_RECEIVE(Manifest.permission.RECEIVE_SMS),
     SMS_SEND(Manifest.permission.SEND_SMS);
 
+    private static final Map<String, Permission> sPermissionMap;
+
+    static {
+        Permission[] values = values();
+        sPermissionMap = new HashMap<>(values.length * 2);
+        for (Permission permission : values) {
+            sPermissionMap.put(permission.mPermission, permission);
+        }
+    }
+
     private String mPermission;
 
     Permission(String permission) {
         this.mPermission = permission;
     }
 
+    /**
+     * 由权限名称查找枚举，O(1)
+     *
+     * @param permission 权限名称
+     * @return 对应的枚举，非枚举权限返回 null
+     */
+    public static Permission of(String permission) {
+        return permission != null ? sPermissionMap.get(permission) : null;
+    }
+
+    /**
+     * 权限名称集合转为枚举集合，例如 {@link PermissionCallback} 回调的权限集合
+     *
+     * @param permissions 权限名称集合
+     * @return 新建的枚举集合，非枚举权限被忽略
+     */
+    public static EnumSet<Permission> setOf(Collection<String> permissions) {
+        EnumSet<Permission> set = EnumSet.noneOf(Permission.class);
+        if (permissions != null) {
+            for (String permission : permissions) {
+                Permission p = of(permission);
+                if (p != null) set.add(p);
+            }
+        }
+        return set;
+    }
+
     public String getPermission() {
         return mPermission;
     }
@@ -130,6 +173,25 @@ public enum Permission {
         MICROPHONE(MICROPHONE_RECORD_AUDIO),
         SMS(SMS_READ, SMS_RECEIVE_WAP_PUSH, SMS_RECEIVE_MMS, SMS_RECEIVE, SMS_SEND);
 
+        /**
+         * 以 Group 组合位图为下标，缓存展开去重后的权限数组
+         */
+        private static final AtomicReferenceArray<Permission[]> sExpandCache =
+                new AtomicReferenceArray<>(1 << values().length);
+
+        /**
+         * 以 Permission#ordinal 为下标，权限所属的权限组
+         */
+        private static final Group[] sPermissionGroups = new Group[Permission.values().length];
+
+        static {
+            for (Group group : values()) {
+                for (Permission permission : group.group) {
+                    sPermissionGroups[permission.ordinal()] = group;
+                }
+            }
+        }
+
         private Permission[] group;
 
         Group(Permission... group) {
@@ -139,5 +201,56 @@ public enum Permission {
         public Permission[] getGroup() {
             return group;
         }
+
+        /**
+         * 查找权限所属的权限组，O(1)
+         *
+         * @param permission 权限
+         * @return 权限组，参数为 null 时返回 null
+         */
+        public static Group of(Permission permission) {
+            return permission != null ? sPermissionGroups[permission.ordinal()] : null;
+        }
+
+        /**
+         * @param permission 权限名称
+         * @return 权限组，非枚举权限返回 null
+         * @see Permission#of(String)
+         */
+        public static Group of(String permission) {
+            return of(Permission.of(permission));
+        }
+
+        /**
+         * 展开权限组并去重，相同的组合只计算一次
+         *
+         * @param groups 权限组（可重复、可重叠）
+         * @return 去重后的权限数组（共享缓存，不可修改）
+         */
+        static Permission[] expand(Group... groups) {
+            int key = 0;
+            for (Group group : groups) {
+                key |= 1 << group.ordinal();
+            }
+            Permission[] permissions = sExpandCache.get(key);
+            if (permissions == null) {
+                long bits = 0;
+                for (Group group : values()) {
+                    if ((key & 1 << group.ordinal()) == 0) continue;
+
+                    for (Permission permission : group.group) {
+                        bits |= 1L << permission.ordinal();
+                    }
+                }
+                Permission[] all = Permission.values();
+                permissions = new Permission[Long.bitCount(bits)];
+                int index = 0;
+                for (; bits != 0; bits &= bits - 1) {
+                    permissions[index++] = all[Long.numberOfTrailingZeros(bits)];
+                }
+                sExpandCache.set(key, permissions);
+            }
+            return permissions;
+        }
     }
 }
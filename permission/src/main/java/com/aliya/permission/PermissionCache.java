@@ -0,0 +1,92 @@
+package com.aliya.permission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程级权限授权状态缓存
+ * <p>
+ * 用户只能在系统设置页修改授权，返回应用时必然触发 Activity#onResume，
+ * 所以任意 Activity resume 时整体失效即可保证正确性。
+ *
+ * @author a_liYa
+ * @date 2026/10/18 10:12.
+ */
+final class PermissionCache {
+
+    private final Map<String, Boolean> mGrantStates = new ConcurrentHashMap<>();
+
+    /**
+     * 只有成功监听 Activity 生命周期（能感知失效时机）时才启用
+     */
+    private volatile boolean mEnabled;
+
+    /**
+     * 每次失效递增，丢弃失效前发起、失效后才写入的查询结果（批量快照、单个权限）
+     */
+    private volatile int mGeneration;
+
+    /**
+     * 本次失效后是否已经写入过批量快照
+     */
+    private boolean mSnapshotLoaded;
+
+    synchronized void setEnabled(boolean enabled) {
+        mEnabled = enabled;
+        if (!enabled) invalidate();
+    }
+
+    boolean isEnabled() {
+        return mEnabled;
+    }
+
+    /**
+     * @param permission 权限名称
+     * @return null : 未缓存
+     */
+    Boolean get(String permission) {
+        return mEnabled ? mGrantStates.get(permission) : null;
+    }
+
+    /**
+     * @return 当前版本号，查询授权状态之前读取，写入时传给 {@link #put(String, boolean, int)}
+     */
+    int generation() {
+        return mGeneration;
+    }
+
+    /**
+     * 写入单个权限的授权状态：查询期间缓存已失效（如：后台线程查询时 Activity resume）时丢弃
+     *
+     * @param generation 查询之前 {@link #generation()} 返回的版本号
+     */
+    synchronized void put(String permission, boolean granted, int generation) {
+        if (mEnabled && generation == mGeneration) mGrantStates.put(permission, granted);
+    }
+
+    /**
+     * @return 需要加载批量快照时返回当前版本号，否则返回 -1
+     */
+    synchronized int beginSnapshot() {
+        return mEnabled && !mSnapshotLoaded ? mGeneration : -1;
+    }
+
+    /**
+     * 写入批量快照
+     *
+     * @param states     权限 - 是否授权，null 表示数据源不支持批量查询
+     * @param generation {@link #beginSnapshot()} 返回的版本号
+     */
+    synchronized void putSnapshot(Map<String, Boolean> states, int generation) {
+        if (!mEnabled || generation != mGeneration) return;
+        mSnapshotLoaded = true;
+        if (states != null) mGrantStates.putAll(states);
+    }
+
+    synchronized void invalidate() {
+        mGrantStates.clear();
+        mGeneration++;
+        mSnapshotLoaded = false;
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.aliya.permission;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 异步权限申请结果，参考 ListenableFuture
+ * <p>
+ * 通过 {@link #addListener(Runnable, Executor)} / {@link #addCallback(Callback, Executor)} 组合后续逻辑，
+ * 通过 {@link #timeout(long, TimeUnit)} 设置超时，{@link #cancel(boolean)} 取消（排队中的请求不再弹框）
+ *
+ * @author a_liYa
+ * @date 2026/10/18 14:20.
+ * @see PermissionManager#requestAsync(android.content.Context, Permission...)
+ */
+public final class PermissionFuture implements Future<PermissionResult> {
+
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+
+    private final CountDownLatch mLatch = new CountDownLatch(1);
+
+    private PermissionResult mResult;
+    private Throwable mFailure;
+    private boolean mCancelled;
+    private boolean mDone;
+
+    private List<Runnable> mListeners;
+    private List<Executor> mExecutors;
+
+    private Runnable mTimeout; // 结束时移除，不再被主线程 Handler 持有
+
+    PermissionFuture() {
+    }
+
+    boolean complete(PermissionResult result) {
+        synchronized (this) {
+            if (mDone) return false;
+            mResult = result;
+            mDone = true;
+        }
+        onDone();
+        return true;
+    }
+
+    boolean fail(@NonNull Throwable failure) {
+        synchronized (this) {
+            if (mDone) return false;
+            mFailure = failure;
+            mDone = true;
+        }
+        onDone();
+        return true;
+    }
+
+    /**
+     * 取消：排队中的请求不再向系统申请；已弹出的系统弹框无法撤回，其结果将被忽略
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        synchronized (this) {
+            if (mDone) return false;
+            mCancelled = true;
+            mDone = true;
+        }
+        onDone();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return mCancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return mDone;
+    }
+
+    @Override
+    public PermissionResult get() throws InterruptedException, ExecutionException {
+        mLatch.await();
+        return getDone();
+    }
+
+    @Override
+    public PermissionResult get(long timeout, @NonNull TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (!mLatch.await(timeout, unit)) {
+            throw new TimeoutException("Timed out waiting for permission result");
+        }
+        return getDone();
+    }
+
+    /**
+     * 超时之后以 {@link TimeoutException} 结束（不阻塞）
+     *
+     * @param timeout 超时时长
+     * @param unit    时间单位
+     * @return this
+     */
+    public PermissionFuture timeout(long timeout, @NonNull TimeUnit unit) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                fail(new TimeoutException("Permission request timed out"));
+            }
+        };
+        synchronized (this) {
+            if (mDone) return this;
+            if (mTimeout != null) sMainHandler.removeCallbacks(mTimeout);
+            mTimeout = runnable;
+        }
+        sMainHandler.postDelayed(runnable, unit.toMillis(timeout));
+        return this;
+    }
+
+    /**
+     * 结束（完成、失败、取消）之后在 executor 中执行 listener，已结束时立即执行
+     */
+    public void addListener(@NonNull Runnable listener, @NonNull Executor executor) {
+        synchronized (this) {
+            if (!mDone) {
+                if (mListeners == null) {
+                    mListeners = new ArrayList<>(1);
+                    mExecutors = new ArrayList<>(1);
+                }
+                mListeners.add(listener);
+                mExecutors.add(executor);
+                return;
+            }
+        }
+        executor.execute(listener);
+    }
+
+    /**
+     * 结束之后在 executor 中回调 callback
+     */
+    public void addCallback(@NonNull final Callback callback, @NonNull Executor executor) {
+        addListener(new Runnable() {
+            @Override
+            public void run() {
+                PermissionResult result;
+                try {
+                    result = getDone();
+                } catch (CancellationException e) {
+                    callback.onFailure(e);
+                    return;
+                } catch (ExecutionException e) {
+                    callback.onFailure(e.getCause());
+                    return;
+                }
+                callback.onResult(result);
+            }
+        }, executor);
+    }
+
+    private PermissionResult getDone() throws ExecutionException {
+        synchronized (this) {
+            if (mCancelled) throw new CancellationException("Permission request was cancelled");
+            if (mFailure != null) throw new ExecutionException(mFailure);
+            return mResult;
+        }
+    }
+
+    private void onDone() {
+        mLatch.countDown();
+        List<Runnable> listeners;
+        List<Executor> executors;
+        Runnable timeout;
+        synchronized (this) {
+            listeners = mListeners;
+            executors = mExecutors;
+            timeout = mTimeout;
+            mListeners = null;
+            mExecutors = null;
+            mTimeout = null;
+        }
+        if (timeout != null) sMainHandler.removeCallbacks(timeout);
+        if (listeners != null) {
+            for (int i = 0; i < listeners.size(); i++) {
+                executors.get(i).execute(listeners.get(i));
+            }
+        }
+    }
+
+    public interface Callback {
+
+        void onResult(@NonNull PermissionResult result);
+
+        /**
+         * @param t 取消：{@link CancellationException}；超时：{@link TimeoutException}
+         */
+        void onFailure(@NonNull Throwable t);
+    }
+
+}
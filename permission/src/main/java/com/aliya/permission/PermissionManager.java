@@ -1,22 +1,29 @@
 package com.aliya.permission;
 
-import android.Manifest;
 import android.app.Activity;
+import android.app.Application;
 import android.content.Context;
 import android.content.Intent;
 import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageInfo;
 import android.content.pm.PackageManager;
 import android.os.Build;
-import android.os.Process;
-import android.provider.Settings;
-import android.text.TextUtils;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import android.util.SparseArray;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.RequiresApi;
@@ -30,16 +37,54 @@ import androidx.annotation.RequiresApi;
  */
 public class PermissionManager {
 
+    private static final String TAG = "PermissionManager";
+
     private static final int EMPTY = 0;
 
     private volatile static PermissionManager mInstance;
 
-    private static Context sContext;
+    private volatile static Context sContext;
 
     /**
      * see /build.gradle文件 属性android.buildTypes.(release/debug)#debuggable true/false 来决定
      */
-    static boolean sDebuggable = false;
+    static volatile boolean sDebuggable = false;
+
+    /**
+     * 授权状态缓存，避免重复 IPC
+     */
+    static final PermissionCache sGrantCache = new PermissionCache();
+
+    /**
+     * 已确定拒绝且不再询问的权限（系统申请结果中 rationale 由已知的 true 变为 false），再次申请时直接回调拒绝，不再经过系统；
+     * resume 时移除已授权的，应用回到前台时全部清空（用户可能在设置页恢复为询问）
+     */
+    static final Set<String> sNeverAsk =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * 已知 rationale 为 true 的权限（上一次系统结果为仅拒绝，或应用查询
+     * {@link #shouldShowRequestPermissionRationale(Context, String)} 返回 true）：
+     * 再次被拒绝且 rationale 变为 false，即确定本次勾选了不再询问；发起请求前无需逐个查询。
+     * 应用回到前台时清空（用户可能在设置页修改）
+     */
+    static final Set<String> sRationaleShown =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * 权限状态变化监听
+     */
+    static final PermissionObservers sObservers = new PermissionObservers();
+
+    private volatile static Set<String> sManifestPermissions;
+
+    private volatile static PermissionMetrics sMetrics;
+
+    private volatile static Executor sCallbackExecutor;
+
+    private static final Permission[] SNAPSHOT_PERMISSIONS = Permission.values();
+
+    private volatile static PermissionStateSource sStateSource = AndroidPermissionStateSource.INSTANCE;
 
     private static PermissionManager _get() {
         if (mInstance == null) {
@@ -52,11 +97,28 @@ public class PermissionManager {
         return mInstance;
     }
 
+    /**
+     * 已向系统发起、等待结果的请求（同一时刻系统只显示一个权限弹框，最多一个）
+     * <p>
+     * 注：请求注册表（mRequestCaches、mWaitingQueue）只在主线程读写
+     */
     private final SparseArray<OpEntity> mRequestCaches;
+    /**
+     * 排队等待向系统发起的请求 FIFO
+     */
+    private final ArrayDeque<OpEntity> mWaitingQueue;
+    /**
+     * 配置变更（如：旋转屏幕）销毁了宿主：系统弹框仍可能显示，其结果发往重建后的 Activity，
+     * 在下一次 Activity resume 之前不发起新的请求
+     */
+    private boolean mAwaitingRecreate;
     private final ResultHelper.OnPermissionsResultCallback mPermissionsResultCallback;
+    private final Handler mMainHandler;
 
     private PermissionManager() {
         mRequestCaches = new SparseArray<>();
+        mWaitingQueue = new ArrayDeque<>();
+        mMainHandler = new Handler(Looper.getMainLooper());
         mPermissionsResultCallback = new ResultHelper.OnPermissionsResultCallback() {
             @Override
             public void onPermissionsResult(int requestCode, @NonNull String[] permissions,
@@ -110,40 +172,101 @@ public class PermissionManager {
         return request(activity, callback, permissions, null);
     }
 
+    /**
+     * 按权限组动态申请，重叠的组会合并去重
+     *
+     * @param activityContext Should be include activity.
+     * @param callback        回调
+     * @param groups          权限组
+     * @return true：权限申请之前已全部允许
+     * @see #request(Context, PermissionCallback, Permission...)
+     */
     public static boolean request(
             Context activityContext, PermissionCallback callback, Permission.Group... groups) {
-        Permission[] permissions = null;
-        for (Permission.Group group : groups) {
-            Permission[] groupPermissions = group.getGroup();
-            if (permissions == null) {
-                permissions = groupPermissions;
-            } else {
-                // 数组扩容并原封拷贝
-                permissions = Arrays.copyOf(permissions,
-                        permissions.length + groupPermissions.length);
-                // 拷贝 groupPermissions 至 permissions 扩容部分
-                System.arraycopy(groupPermissions, 0, permissions,
-                        permissions.length - groupPermissions.length,
-                        groupPermissions.length);
-            }
-        }
-        return request(activityContext, callback, permissions);
+        return request(activityContext, callback, Permission.Group.expand(groups));
+    }
+
+    /**
+     * 动态权限申请，在指定线程池回调 {@link PermissionCallback}
+     *
+     * @param activity    Activity
+     * @param executor    回调线程池，null 时使用默认值 {@link #setCallbackExecutor(Executor)}
+     * @param callback    回调
+     * @param permissions 权限集
+     * @return true：权限申请之前已全部允许
+     */
+    public static boolean request(Activity activity, Executor executor,
+                                  PermissionCallback callback, Permission... permissions) {
+        return request(activity, callback, permissions, null, null, executor);
+    }
+
+    /**
+     * @see #request(Activity, Executor, PermissionCallback, Permission...)
+     */
+    public static boolean request(Activity activity, Executor executor,
+                                  PermissionCallback callback, String... permissions) {
+        return request(activity, callback, null, permissions, null, executor);
+    }
+
+    /**
+     * 异步动态权限申请
+     *
+     * @param activityContext Should be include activity.
+     * @param permissions     权限集
+     * @return 权限申请结果 Future
+     * @see #request(Context, PermissionCallback, Permission...)
+     */
+    public static PermissionFuture requestAsync(Context activityContext, Permission... permissions) {
+        PermissionFuture future = new PermissionFuture();
+        request(ResultHelper.getActivityByContext(activityContext), null, permissions, null, future,
+                null);
+        return future;
+    }
+
+    /**
+     * 异步动态权限申请
+     *
+     * @param activityContext Should be include activity.
+     * @param permissions     权限集(字符串)
+     * @return 权限申请结果 Future
+     * @see #request(Context, PermissionCallback, String...)
+     */
+    public static PermissionFuture requestAsync(Context activityContext, String... permissions) {
+        PermissionFuture future = new PermissionFuture();
+        request(ResultHelper.getActivityByContext(activityContext), null, null, permissions, future,
+                null);
+        return future;
+    }
+
+    /**
+     * @see #request(Activity, PermissionCallback, Permission[], String[], PermissionFuture)
+     */
+    static boolean request(Activity activity, PermissionCallback callback,
+                           Permission[] permissions, String[] permissionStrings) {
+        return request(activity, callback, permissions, permissionStrings, null, null);
     }
 
     /**
      * 动态申请权限
      * <p>
-     * 注：所申请权限必须在Manifest中静态注册，否则可能崩溃
+     * 注：所申请权限必须在Manifest中静态注册，未注册的权限直接归为拒绝，不会向系统申请
+     * <p>
+     * 可在任意线程调用：权限归类在调用线程完成，只有向系统申请的步骤切换到主线程执行；
+     * 申请之前已全部允许（或已全部拒绝）时在调用线程回调
      *
      * @param activity          Activity
      * @param callback          回调
      * @param permissions       权限集
      * @param permissionStrings 权限集(字符串)
+     * @param future            异步结果，可为 null
+     * @param executor          回调线程池，null 时使用默认值 {@link #setCallbackExecutor(Executor)}
      * @return true：权限申请之前已全部允许
      */
     static boolean request(Activity activity, PermissionCallback callback,
-                                   Permission[] permissions, String[] permissionStrings) {
+                           Permission[] permissions, String[] permissionStrings,
+                           PermissionFuture future, Executor executor) {
 
+        final long startNanos = nanoTime();
         initContext(activity);
 
         int length = EMPTY;
@@ -151,21 +274,30 @@ public class PermissionManager {
         if (permissionStrings != null) length += permissionStrings.length;
 
         // 没有申请的权限
-        if (length == EMPTY) return true;
+        if (length == EMPTY) {
+            if (future != null) future.complete(new PermissionResult());
+            return true;
+        }
 
         if (activity == null) {
             if (sDebuggable) throw new IllegalArgumentException("Activity shouldn't be null.");
 
+            if (future != null) {
+                future.fail(new IllegalArgumentException("Activity shouldn't be null."));
+            }
             return false;
         }
 
         OpEntity opEntity = new OpEntity(activity, callback);
+        opEntity.future = future;
+        opEntity.executor = executor;
+        opEntity.startNanos = startNanos;
 
         // 权限分类：已授权、待申请
         {
             if (permissions != null) {
                 for (Permission permission : permissions) {
-                    assortPermission(opEntity, permission.getPermission());
+                    assortPermission(opEntity, permission);
                 }
             }
 
@@ -175,19 +307,18 @@ public class PermissionManager {
                 }
             }
         }
+        opEntity.classifiedNanos = nanoTime();
+        sObservers.track(opEntity);
 
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
             // 处理 分类权限
-            if (equalsSize(opEntity.grantedPermissions, length)) {
-                if (callback != null) callback.onGranted(true);
-                return true;
+            if (opEntity.isAllGranted()) {
+                return dispatchCallback(opEntity, true);
             } else {
-                if (equalsSize(opEntity.waitPermissions, EMPTY)) { // 待申请权限 == 0
-                    if (callback != null) {
-                        callback.onDenied(opEntity.deniedPermissions, opEntity.neverAskPermissions);
-                    }
+                if (!opEntity.hasPendingPermissions()) { // 待申请权限 == 0
+                    dispatchCallback(opEntity, false);
                 } else {
-                    _get().requestPermission(activity, opEntity);
+                    _get().requestPermission(opEntity);
                 }
             }
         } else {
@@ -197,20 +328,139 @@ public class PermissionManager {
     }
 
     static boolean dispatchCallback(OpEntity opEntity) {
-        final boolean granted = equalsSize(opEntity.deniedPermissions, EMPTY);
+        return dispatchCallback(opEntity, Build.VERSION.SDK_INT < Build.VERSION_CODES.M);
+    }
 
-        if (opEntity.callback != null) {
-            if (granted) {
-                opEntity.callback.onGranted(Build.VERSION.SDK_INT < Build.VERSION_CODES.M);
+    /**
+     * @param opEntity  .
+     * @param isAlready 申请之前已全部默认授权
+     * @return true : 全部授予
+     */
+    static boolean dispatchCallback(OpEntity opEntity, boolean isAlready) {
+        final boolean granted = opEntity.deniedPermissions.isEmpty();
+
+        PermissionMetrics metrics = sMetrics;
+        if (metrics != null) reportOutcomes(metrics, opEntity);
+
+        final boolean hasCallback = opEntity.callback != null;
+        if (hasCallback) {
+            Executor executor = opEntity.executor != null ? opEntity.executor : sCallbackExecutor;
+            opEntity.dispatchAlready = isAlready;
+            if (executor != null) {
+                executor.execute(opEntity); // OpEntity 本身即 Runnable，不额外分配
             } else {
-                opEntity.callback
-                        .onDenied(opEntity.deniedPermissions, opEntity.neverAskPermissions);
+                invokeCallback(opEntity);
             }
         }
+        if (opEntity.future != null) {
+            opEntity.future.complete(new PermissionResult(opEntity, granted && isAlready));
+        }
+        // 有回调时在回调完成后统计（见 invokeCallback）
+        if (!hasCallback && metrics != null && opEntity.startNanos != 0) {
+            reportTimings(metrics, opEntity, System.nanoTime());
+        }
 
         return granted;
     }
 
+    /**
+     * 回调 {@link PermissionCallback}，在回调线程执行；宿主销毁后回调已释放，不再回调
+     */
+    static void invokeCallback(OpEntity opEntity) {
+        PermissionCallback callback = opEntity.callback;
+        if (callback != null) {
+            if (opEntity.deniedPermissions.isEmpty()) {
+                callback.onGranted(opEntity.dispatchAlready);
+            } else {
+                callback.onDenied(opEntity.getDeniedList(), opEntity.getNeverAskList());
+            }
+        }
+
+        PermissionMetrics metrics = sMetrics;
+        if (metrics != null && opEntity.startNanos != 0) {
+            reportTimings(metrics, opEntity, System.nanoTime());
+        }
+    }
+
+    /**
+     * 统计请求中每个权限的最终结果：缓存中已授权、已知不再询问直接回调、系统结果、特殊权限设置页均在此统计
+     */
+    private static void reportOutcomes(PermissionMetrics metrics, OpEntity opEntity) {
+        for (String permission : opEntity.grantedPermissions.asList()) {
+            metrics.onPermissionOutcome(permission, PermissionMetrics.OUTCOME_GRANTED);
+        }
+        for (String permission : opEntity.deniedPermissions.asList()) {
+            metrics.onPermissionOutcome(permission,
+                    opEntity.neverAskPermissions.contains(permission)
+                            ? PermissionMetrics.OUTCOME_NEVER_ASK : PermissionMetrics.OUTCOME_DENIED);
+        }
+    }
+
+    private static void reportTimings(PermissionMetrics metrics, OpEntity opEntity, long endNanos) {
+        long classify = opEntity.classifiedNanos - opEntity.startNanos;
+        long queue = 0, attach = 0, dialog = 0, dispatch = 0;
+        if (opEntity.sendNanos != 0) {
+            queue = Math.max(0, opEntity.sendNanos - opEntity.classifiedNanos);
+            if (opEntity.sentNanos != 0) attach = opEntity.sentNanos - opEntity.sendNanos;
+        }
+        if (opEntity.resultNanos != 0) {
+            if (opEntity.sentNanos != 0) dialog = opEntity.resultNanos - opEntity.sentNanos;
+            dispatch = endNanos - opEntity.resultNanos;
+        }
+        metrics.onRequestTimings(opEntity.requestCode, classify, queue, attach, dialog, dispatch);
+    }
+
+    /**
+     * @return 未设置 {@link PermissionMetrics} 时返回 0，不读取时钟
+     */
+    private static long nanoTime() {
+        return sMetrics != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * 设置统计监听，null 表示关闭
+     *
+     * @param metrics 统计监听
+     */
+    public static void setMetrics(PermissionMetrics metrics) {
+        sMetrics = metrics;
+    }
+
+    /**
+     * 设置默认的 {@link PermissionCallback} 回调线程池，例如授权后需要启动相机、定位等耗时操作时，
+     * 避免与权限弹框关闭在同一帧执行；单个请求可通过
+     * {@link #request(Activity, Executor, PermissionCallback, Permission...)} 单独指定
+     *
+     * @param executor 回调线程池，null 表示在结果所在线程（主线程）直接回调
+     */
+    public static void setCallbackExecutor(Executor executor) {
+        sCallbackExecutor = executor;
+    }
+
+    /**
+     * 替换权限状态数据源，同时清空授权缓存
+     *
+     * @param source 数据源，null 表示恢复默认（Android 系统）
+     * @see InMemoryPermissionStateSource
+     */
+    public static void setStateSource(PermissionStateSource source) {
+        sStateSource = source != null ? source : AndroidPermissionStateSource.INSTANCE;
+        sGrantCache.invalidate();
+    }
+
+    /**
+     * 注册特殊权限处理，之后可以和运行时权限一起通过 request 申请、checkPermission 检查
+     *
+     * @param permission 权限名称
+     * @param handler    处理，null 表示移除
+     * @see SpecialPermissionHandler
+     */
+    public static void registerSpecialPermission(@NonNull String permission,
+                                                 SpecialPermissionHandler handler) {
+        SpecialPermissions.register(permission, handler);
+        sGrantCache.invalidate();
+    }
+
     /**
      * 权限申请结果处理
      *
@@ -223,25 +473,71 @@ public class PermissionManager {
         OpEntity opEntity = _get().mRequestCaches.get(requestCode);
         if (opEntity != null) {
             _get().mRequestCaches.remove(requestCode);
+            opEntity.resultNanos = nanoTime();
 
+            // 每个权限只解析一次，再分发给合并等待的所有请求
+            Activity activity = opEntity.getActivity();
+            PermissionSet granted = new PermissionSet();
+            PermissionSet neverAsk = new PermissionSet();
+            final int generation = sGrantCache.generation();
             for (int i = 0; i < permissions.length; i++) {
-                if (grantResults[i] == PackageManager.PERMISSION_GRANTED) {  // 权限被授予
-                    opEntity.addGrantedPermission(permissions[i]);
-                } else { // 权限被拒绝
-                    if (!shouldShowRequestPermissionRationale(opEntity.getActivity(), permissions[i])) {
-                        // 1、拒绝且不再询问
-                        opEntity.addNeverAskPermission(permissions[i]);
-                    } else {
-                        // 2、拒绝
-                        opEntity.addDeniedPermission(permissions[i]);
-                    }
+                final boolean isGranted = grantResults[i] == PackageManager.PERMISSION_GRANTED;
+                sGrantCache.put(permissions[i], isGranted, generation);
+                if (isGranted) {  // 权限被授予
+                    granted.add(permissions[i]);
+                    sNeverAsk.remove(permissions[i]);
+                    sRationaleShown.remove(permissions[i]);
+                } else if (isNeverAsk(activity, permissions[i])) { // 拒绝且不再询问
+                    neverAsk.add(permissions[i]);
+                    // 之前未知为 true 时也可能是首次申请时弹框被直接关闭，不记录，下次仍交给系统
+                    if (sRationaleShown.remove(permissions[i])) sNeverAsk.add(permissions[i]);
+                } else {
+                    sNeverAsk.remove(permissions[i]);
+                    sRationaleShown.add(permissions[i]);
+                }
+            }
+            sObservers.onPermissionsResult(permissions, grantResults);
+
+            opEntity.applyResult(granted, neverAsk);
+            // 还有特殊权限时，跳转设置页之后再回调
+            final boolean hasSpecial = !opEntity.specialPermissions.isEmpty();
+            if (!hasSpecial) dispatchCallback(opEntity);
+
+            if (opEntity.attachedEntities != null) {
+                for (OpEntity follower : opEntity.attachedEntities) {
+                    follower.copyTimings(opEntity);
+                    follower.applyResult(granted, neverAsk);
+                    dispatchCallback(follower);
                 }
             }
 
-            dispatchCallback(opEntity);
+            if (hasSpecial) {
+                opEntity.attachedEntities = null;
+                _get().mRequestCaches.put(requestCode, opEntity);
+                _get().requestSpecialPermissions(opEntity);
+            } else {
+                _get().scheduleNext();
+            }
         }
     }
 
+    /**
+     * 被拒绝的权限是否不再询问，对比申请前后的 rationale：
+     * <pre>
+     * 申请前    申请后
+     * true  -> false : 本次勾选了不再询问（Android 11+ 第二次拒绝），记入 sNeverAsk
+     * false -> false : 之前已不再询问，或首次申请时弹框被直接关闭，无法区分：回调为不再询问，不记录
+     * any   -> true  : 仅拒绝，可再次申请
+     * </pre>
+     * 申请前的状态不在发起时查询，取自已知记录（{@link #sRationaleShown}），未知按 false 处理；
+     * 申请后的状态无法由申请前推导，仍需查询一次。宿主销毁的请求已在 {@link #onActivityDestroyed} 中移除，
+     * 收不到结果，activity 为空只是防御
+     */
+    private static boolean isNeverAsk(Activity activity, String permission) {
+        return activity != null
+                && !sStateSource.shouldShowRequestPermissionRationale(activity, permission);
+    }
+
     /**
      * @param activityContext Should be include activity.
      * @param permission      权限名称
@@ -250,13 +546,17 @@ public class PermissionManager {
      */
     public static boolean shouldShowRequestPermissionRationale(Context activityContext,
                                                                @NonNull String permission) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            Activity activity = ResultHelper.getActivityByContext(activityContext);
-            if (activity != null) {
-                return activity.shouldShowRequestPermissionRationale(permission);
-            }
+        Activity activity = ResultHelper.getActivityByContext(activityContext);
+        if (activity == null) return false;
+
+        // 顺便记录申请前的状态，用于确认之后的不再询问
+        boolean show = sStateSource.shouldShowRequestPermissionRationale(activity, permission);
+        if (show) {
+            sRationaleShown.add(permission);
+        } else {
+            sRationaleShown.remove(permission);
         }
-        return false;
+        return show;
     }
 
 
@@ -267,11 +567,51 @@ public class PermissionManager {
      * @param permission 权限名称
      */
     static void assortPermission(OpEntity opEntity, String permission) {
+        // 特殊权限，跳转设置页授权（通知使用权等不在 Manifest uses-permission 中注册）
+        if (sStateSource.isSpecialPermission(permission)) {
+            if (isGranted(sContext, permission)) {
+                opEntity.addGrantedPermission(permission);
+            } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                opEntity.addSpecialPermission(permission);
+            } else {
+                opEntity.addDeniedPermission(permission);
+            }
+            return;
+        }
+        // Manifest 未注册的权限，不会被授予
+        if (!isDeclared(permission)) {
+            opEntity.addDeniedPermission(permission);
+            return;
+        }
         // 判断权限是否被授予
-        if (checkPermission(sContext, permission)) {
+        if (isGranted(sContext, permission)) {
             opEntity.addGrantedPermission(permission);
         } else {
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M && !sNeverAsk.contains(permission)) {
+                opEntity.addWaitPermission(permission);
+            } else {
+                opEntity.addNeverAskPermission(permission);
+            }
+        }
+    }
+
+    /**
+     * 权限区分归类
+     *
+     * @param opEntity   .
+     * @param permission 权限
+     * @see #assortPermission(OpEntity, String)
+     */
+    static void assortPermission(OpEntity opEntity, Permission permission) {
+        if (!isDeclared(permission.getPermission())) {
+            opEntity.addDeniedPermission(permission.getPermission());
+            return;
+        }
+        if (isGranted(sContext, permission.getPermission())) {
+            opEntity.addGrantedPermission(permission);
+        } else {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M
+                    && !sNeverAsk.contains(permission.getPermission())) {
                 opEntity.addWaitPermission(permission);
             } else {
                 opEntity.addNeverAskPermission(permission);
@@ -281,35 +621,148 @@ public class PermissionManager {
 
     /**
      * 检查权限是否已经全部授权
+     * <p>
+     * 优先读取缓存，缓存在任意 Activity resume 时失效
      *
      * @param context     A any context
      * @param permissions 权限集合
      * @return true: 已全部授权
      */
     public static boolean checkPermission(Context context, String... permissions) {
+        initContext(context);
         for (String permission : permissions) {
-            // 特殊权限 - 在其他应用上层显示应用的权限
-            if (TextUtils.equals(permission, Manifest.permission.SYSTEM_ALERT_WINDOW)) {
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M && !Settings.canDrawOverlays(context))
-                    return false;
-            } else
-                // 对比 PermissionChecker.checkSelfPermission(sContext, permission)
-                if (context.checkPermission(
-                        permission,
-                        android.os.Process.myPid(),
-                        Process.myUid())
-                        != PackageManager.PERMISSION_GRANTED)
-                    return false;
+            if (!isGranted(context, permission)) return false;
         }
         return true;
     }
 
+    /**
+     * 单个权限是否授权，优先读取缓存
+     */
+    static boolean isGranted(Context context, String permission) {
+        Boolean granted = sGrantCache.get(permission);
+        PermissionMetrics metrics = sMetrics;
+        if (granted == null) {
+            if (metrics != null) metrics.onCacheMiss(permission);
+            granted = loadGrantSnapshot(context, permission);
+            if (granted == null) {
+                int generation = sGrantCache.generation();
+                granted = checkSelfPermission(context, permission);
+                sGrantCache.put(permission, granted, generation);
+            }
+        } else if (metrics != null) {
+            metrics.onCacheHit(permission);
+        }
+        return granted;
+    }
+
+    /**
+     * 缓存失效后首次未命中时，一次查询全部已注册权限的授权状态写入缓存，
+     * 之后的检查、归类直接命中缓存；特殊权限不在快照中，仍逐个查询
+     *
+     * @return 快照中该权限的授权状态，null : 未加载快照或快照中不包含
+     */
+    private static Boolean loadGrantSnapshot(Context context, String permission) {
+        int generation = sGrantCache.beginSnapshot();
+        if (generation < 0) return null;
+        Map<String, Boolean> states = sStateSource.queryGrantStates(context);
+        sGrantCache.putSnapshot(states, generation);
+        return states != null ? states.get(permission) : null;
+    }
+
+    /**
+     * 向数据源查询单个权限是否授权（默认数据源为一次 IPC）
+     */
+    private static boolean checkSelfPermission(Context context, String permission) {
+        PermissionStateSource source = sStateSource;
+        Boolean special = source.checkSpecialPermission(context, permission);
+        if (special != null) return special;
+        return source.checkSelfPermission(context, permission);
+    }
+
     public static boolean checkPermission(Context context, Permission... permissions) {
+        initContext(context);
+        for (Permission permission : permissions) {
+            if (!isGranted(context, permission.getPermission())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 读取全部 {@link Permission} 枚举权限的授权状态
+     * <p>
+     * 优先读取缓存，缓存失效时一次查询全部已注册权限；未在 Manifest 中注册的权限视为拒绝
+     *
+     * @param context A any context
+     * @return 不可变快照
+     * @see PermissionSnapshot#diff(PermissionSnapshot)
+     */
+    @NonNull
+    public static PermissionSnapshot snapshot(Context context) {
+        initContext(context);
+        Set<String> declared = getManifestPermissions();
+        final boolean runtime = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M;
+        long granted = 0, denied = 0, neverAsk = 0;
+        for (Permission permission : SNAPSHOT_PERMISSIONS) {
+            final String name = permission.getPermission();
+            final long bit = 1L << permission.ordinal();
+            final boolean isDeclared = declared == null || declared.contains(name);
+            if (isDeclared && isGranted(context, name)) {
+                granted |= bit;
+            } else {
+                denied |= bit;
+                if (isDeclared && (!runtime || sNeverAsk.contains(name))) neverAsk |= bit;
+            }
+        }
+        return new PermissionSnapshot(granted, denied, neverAsk);
+    }
+
+    /**
+     * 监听权限授权状态变化
+     * <p>
+     * 变化来源：本库的权限申请结果；应用回到前台时对所有监听权限的一次统一检查。
+     * 同一个 observer 重复监听时合并权限，只回调真实发生的变化。
+     *
+     * @param context     A any context
+     * @param observer    监听
+     * @param permissions 监听的权限
+     * @see #removeObserver(PermissionObserver)
+     */
+    public static void observe(Context context, PermissionObserver observer,
+                               Permission... permissions) {
         String[] stringPermissions = new String[permissions.length];
         for (int i = 0; i < permissions.length; i++) {
             stringPermissions[i] = permissions[i].getPermission();
         }
-        return checkPermission(context, stringPermissions);
+        observe(context, observer, stringPermissions);
+    }
+
+    /**
+     * @see #observe(Context, PermissionObserver, Permission...)
+     */
+    public static void observe(Context context, PermissionObserver observer,
+                               String... permissions) {
+        initContext(context);
+        sObservers.observe(context, observer, permissions);
+    }
+
+    /**
+     * 监听所有通过 PermissionManager 申请过的权限（包括之后申请的）的授权状态变化，
+     * 如：用户在系统设置页撤销、授予权限后返回应用
+     * <p>
+     * 只检查申请过的权限，应用回到前台时统一检查一次，而不是每个 Activity resume 时检查
+     *
+     * @param context  A any context
+     * @param observer 监听
+     * @see #removeObserver(PermissionObserver)
+     */
+    public static void observeRequested(Context context, PermissionObserver observer) {
+        initContext(context);
+        sObservers.observeRequested(observer);
+    }
+
+    public static void removeObserver(PermissionObserver observer) {
+        sObservers.remove(observer);
     }
 
     /**
@@ -322,48 +775,425 @@ public class PermissionManager {
         return SettingIntents.getAppDetailsIntent(context);
     }
 
+    /**
+     * 预热（可选），建议在 Application#onCreate 中调用：
+     * 在后台线程初始化 Context、debuggable 标记，读取 Manifest 注册权限及其授权状态，
+     * 避免首次申请、检查权限时在主线程读取
+     *
+     * @param context  A any context
+     * @param executor 执行预热的线程池，null 时新建一个后台线程
+     */
+    public static void warmUp(@NonNull Context context, Executor executor) {
+        final Context appContext = context.getApplicationContext() != null
+                ? context.getApplicationContext() : context;
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                initContext(appContext);
+                _get();
+                Set<String> declared = getManifestPermissions();
+                if (declared == null || !sGrantCache.isEnabled()) return;
+                // 首个未命中一次读取全部授权状态，特殊权限逐个读取
+                for (String permission : declared) {
+                    isGranted(sContext, permission);
+                }
+            }
+        };
+        if (executor != null) {
+            executor.execute(task);
+        } else {
+            Thread thread = new Thread(task, "PermissionWarmUp");
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+        }
+    }
+
     static void initContext(Context context) {
         if (sContext == null && context != null) {
-            sContext = context.getApplicationContext();
-            try {
-                sDebuggable =
-                        (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
-            } catch (Exception e) {
-                sDebuggable = false;
+            synchronized (PermissionManager.class) {
+                if (sContext != null) return;
+                try {
+                    sDebuggable = (context.getApplicationInfo().flags
+                            & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+                } catch (Exception e) {
+                    sDebuggable = false;
+                }
+                Context appContext = context.getApplicationContext();
+                if (appContext instanceof Application) {
+                    ((Application) appContext)
+                            .registerActivityLifecycleCallbacks(new LifecycleWatcher());
+                    sGrantCache.setEnabled(true);
+                }
+                sContext = appContext;
             }
         }
     }
 
+    /**
+     * 任意 Activity resume，用户可能刚从设置页修改了授权
+     */
+    static void onActivityResumed(Activity activity) {
+        sGrantCache.invalidate();
+        // 已在设置页授权的权限不再是不再询问
+        if (!sNeverAsk.isEmpty()) {
+            for (Iterator<String> it = sNeverAsk.iterator(); it.hasNext(); ) {
+                if (isGranted(sContext, it.next())) it.remove();
+            }
+        }
+        resumeQueue();
+    }
+
+    /**
+     * 应用从后台回到前台，首个 Activity resume 时代替 {@link #onActivityResumed(Activity)} 调用：
+     * 用户可能在设置页修改了授权，或把"拒绝"恢复为"询问"（授权状态不变、无法检测），
+     * 清空不再询问记录，并对监听、申请过的权限统一检查一次
+     * <p>
+     * 缓存只在此失效一次，统一检查加载的批量快照之后的检查、归类可直接使用
+     */
+    static void onAppForeground() {
+        sNeverAsk.clear();
+        sRationaleShown.clear();
+        sGrantCache.invalidate();
+        sObservers.recheck(sContext);
+        resumeQueue();
+    }
+
+    /**
+     * 配置变更重建后的 Activity 已 resume，继续发起排队的请求
+     */
+    private static void resumeQueue() {
+        PermissionManager manager = mInstance;
+        if (manager != null && manager.mAwaitingRecreate) {
+            manager.mAwaitingRecreate = false;
+            manager.scheduleNext();
+        }
+    }
+
+    /**
+     * 恢复进程级状态：清空监听、不再询问记录、授权缓存、请求队列，恢复默认数据源、回调线程与统计
+     * <p>
+     * 仅用于 JVM 单元测试（主线程调用），使测试之间互不影响；已初始化的 Context 保留
+     */
+    static void reset() {
+        sObservers.clear();
+        sNeverAsk.clear();
+        sRationaleShown.clear();
+        sGrantCache.invalidate();
+        sStateSource = AndroidPermissionStateSource.INSTANCE;
+        sCallbackExecutor = null;
+        sMetrics = null;
+        PermissionManager manager = mInstance;
+        if (manager != null) {
+            manager.mRequestCaches.clear();
+            manager.mWaitingQueue.clear();
+            manager.mAwaitingRecreate = false;
+        }
+    }
+
+    /**
+     * Activity 销毁后，释放其所有未完成的请求（回调通常是持有 Activity 的匿名内部类）：
+     * 发起中的请求再也收不到结果，直接放弃并继续下一个；排队中、合并等待中的请求直接移除
+     * <p>
+     * 配置变更导致的销毁不在此继续下一个，等重建后的 Activity resume（系统弹框已关闭）再发起；
+     * 没有以其为宿主的请求时不做任何处理
+     */
+    static void onActivityDestroyed(Activity activity) {
+        PermissionManager manager = mInstance;
+        if (manager == null) return;
+
+        boolean hosted = false; // 是否有请求的宿主是 activity
+        for (int i = manager.mRequestCaches.size() - 1; i >= 0; i--) {
+            OpEntity inFlight = manager.mRequestCaches.valueAt(i);
+            if (inFlight.evictAttached(activity)) hosted = true;
+            if (inFlight.isHostedBy(activity)) {
+                hosted = true;
+                manager.mRequestCaches.removeAt(i);
+                inFlight.evict();
+                manager.abandon(inFlight);
+            }
+        }
+
+        List<OpEntity> evicted = null;
+        for (Iterator<OpEntity> it = manager.mWaitingQueue.iterator(); it.hasNext(); ) {
+            OpEntity waiting = it.next();
+            if (waiting.evictAttached(activity)) hosted = true;
+            if (waiting.isHostedBy(activity)) {
+                hosted = true;
+                it.remove();
+                waiting.evict();
+                if (evicted == null) evicted = new ArrayList<>(1);
+                evicted.add(waiting);
+            }
+        }
+        if (evicted != null) { // 遍历结束之后再处理，合并在其上的请求重新排队
+            for (int i = evicted.size() - 1; i >= 0; i--) {
+                manager.abandon(evicted.get(i));
+            }
+        }
+        // 与此 Activity 无关的销毁（如：其他页面旋转屏幕）不影响调度
+        if (!hosted) return;
+
+        if (activity.isChangingConfigurations()) {
+            manager.mAwaitingRecreate = true;
+        } else {
+            manager.scheduleNext();
+        }
+    }
+
+    /**
+     * 向系统申请权限：同一时刻只有一个请求等待系统结果，其余请求排队
+     */
     @RequiresApi(api = Build.VERSION_CODES.M)
-    private void requestPermission(Activity activity, OpEntity opEntity) {
-        mRequestCaches.put(opEntity.requestCode, opEntity);
-        ResultHelper.requestPermissions(activity, opEntity.getWaitPermsArray(),
-                opEntity.requestCode, mPermissionsResultCallback);
-        opEntity.waitPermissions = null;
+    private void requestPermission(final OpEntity opEntity) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            mMainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    requestPermission(opEntity);
+                }
+            });
+            return;
+        }
+
+        // 已有申请中或排队中的请求覆盖全部待申请权限，合并等待其结果，不再重复弹框
+        // 含特殊权限的请求需要自己跳转设置页，不合并
+        if (opEntity.specialPermissions.isEmpty()) {
+            for (int i = 0; i < mRequestCaches.size(); i++) {
+                OpEntity inFlight = mRequestCaches.valueAt(i);
+                if (!inFlight.specialPhase
+                        && inFlight.waitPermissions.containsAll(opEntity.waitPermissions)) {
+                    inFlight.attach(opEntity);
+                    return;
+                }
+            }
+            for (OpEntity waiting : mWaitingQueue) {
+                if (waiting.waitPermissions.containsAll(opEntity.waitPermissions)) {
+                    waiting.attach(opEntity);
+                    return;
+                }
+            }
+        }
+
+        mWaitingQueue.offer(opEntity);
+        scheduleNext();
     }
 
-    static boolean equalsSize(List list, int size) {
-        return (list != null ? list.size() : 0) == size;
+    /**
+     * 没有等待结果的请求时，发起下一个排队请求
+     */
+    private void scheduleNext() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M || mAwaitingRecreate) return;
+
+        OpEntity next;
+        while (mRequestCaches.size() == 0 && (next = mWaitingQueue.poll()) != null) {
+            // 排队期间可能已被授权（如：其他请求的结果），重新归类，已授权的不再申请
+            reassortWaitPermissions(next);
+            // 异步请求已取消或超时，不再申请
+            if (next.isCancelled()) {
+                abandon(next);
+                continue;
+            }
+
+            if (!next.hasPendingPermissions()) {
+                dispatchCallback(next);
+                dispatchFollowers(next);
+                continue;
+            }
+
+            Activity activity = next.getActivity();
+            if (!isAlive(activity)) {
+                abandon(next);
+                continue;
+            }
+
+            if (next.waitPermissions.isEmpty()) { // 只有特殊权限
+                dispatchFollowers(next);
+                mRequestCaches.put(next.requestCode, next);
+                requestSpecialPermissions(next);
+                continue;
+            }
+
+            mRequestCaches.put(next.requestCode, next);
+            next.sendNanos = nanoTime();
+            if (!ResultHelper.requestPermissions(activity, next.getWaitPermsArray(),
+                    next.requestCode, mPermissionsResultCallback)) {
+                mRequestCaches.remove(next.requestCode);
+                abandon(next);
+            }
+            next.sentNanos = nanoTime();
+        }
     }
 
+    /**
+     * 回调合并在 opEntity 上的请求，之后不再持有
+     */
+    private static void dispatchFollowers(OpEntity opEntity) {
+        List<OpEntity> followers = opEntity.attachedEntities;
+        if (followers != null) {
+            opEntity.attachedEntities = null;
+            for (OpEntity follower : followers) {
+                dispatchCallback(follower);
+            }
+        }
+    }
 
-    @Deprecated
-    private Set<String> getManifestPermissions() {
-        Set<String> manifestPermissions = null;
-        PackageInfo packageInfo = null;
-        try {
-            packageInfo = sContext.getPackageManager().getPackageInfo(
-                    sContext.getPackageName(), PackageManager.GET_PERMISSIONS);
-        } catch (PackageManager.NameNotFoundException e) {
-            e.printStackTrace();
+    /**
+     * 依次跳转特殊权限设置页，返回后重新检查，全部完成后回调并继续下一个请求
+     * <p>
+     * 调用前 opEntity 已在 mRequestCaches 中（占用申请通道，期间不发起其他请求）
+     */
+    private void requestSpecialPermissions(final OpEntity opEntity) {
+        opEntity.specialPhase = true;
+        Activity activity = opEntity.getActivity();
+        while (!opEntity.specialPermissions.isEmpty()) {
+            final String permission = opEntity.specialPermissions.asList().get(0);
+            SpecialPermissionHandler handler = SpecialPermissions.get(permission);
+            Intent intent = handler != null && isAlive(activity)
+                    ? handler.getSettingIntent(activity) : null;
+            // 部分设备（如：定制 ROM）没有对应的设置页，直接启动会抛 ActivityNotFoundException
+            if (intent != null && intent.resolveActivity(activity.getPackageManager()) == null) {
+                intent = null;
+            }
+            if (intent != null && ResultHelper.startActivityForResult(activity, intent,
+                    new ResultHelper.OnActivityResultCallback() {
+                        @Override
+                        public void onActivityResult(int requestCode, int resultCode,
+                                                     Intent data) {
+                            onSpecialPermissionResult(opEntity, permission);
+                        }
+                    })) {
+                return; // 等待从设置页返回
+            }
+            // 无法跳转设置页（宿主已销毁、没有可处理的设置页），视为拒绝
+            opEntity.specialPermissions.remove(permission);
+            opEntity.addDeniedPermission(permission);
+        }
+
+        mRequestCaches.remove(opEntity.requestCode);
+        dispatchCallback(opEntity);
+        scheduleNext();
+    }
+
+    private void onSpecialPermissionResult(OpEntity opEntity, String permission) {
+        // 宿主已销毁，请求已被放弃
+        if (mRequestCaches.get(opEntity.requestCode) != opEntity) return;
+
+        SpecialPermissionHandler handler = SpecialPermissions.get(permission);
+        Activity activity = opEntity.getActivity();
+        Context context = activity != null ? activity : sContext;
+        int generation = sGrantCache.generation();
+        boolean granted = handler != null && context != null && handler.recheck(context);
+        sGrantCache.put(permission, granted, generation);
+
+        opEntity.specialPermissions.remove(permission);
+        if (granted) {
+            opEntity.addGrantedPermission(permission);
+        } else {
+            opEntity.addDeniedPermission(permission);
         }
-        if (packageInfo != null) {
-            String[] permissions = packageInfo.requestedPermissions;
-            if (permissions != null && permissions.length != 0) {
-                manifestPermissions = new HashSet<>(Arrays.asList(permissions));
+        requestSpecialPermissions(opEntity);
+    }
+
+    /**
+     * 放弃请求（宿主 Activity 已销毁），合并在其上的请求按原顺序重新排到队首
+     */
+    private void abandon(OpEntity opEntity) {
+        List<OpEntity> followers = opEntity.attachedEntities;
+        if (followers != null) {
+            opEntity.attachedEntities = null;
+            for (int i = followers.size() - 1; i >= 0; i--) {
+                mWaitingQueue.offerFirst(followers.get(i));
+            }
+        }
+    }
+
+    private static void reassortWaitPermissions(OpEntity opEntity) {
+        if (!opEntity.specialPermissions.isEmpty()) {
+            for (String permission : opEntity.specialPermissions.toArray()) {
+                if (isGranted(sContext, permission)) {
+                    opEntity.specialPermissions.remove(permission);
+                    opEntity.addGrantedPermission(permission);
+                }
+            }
+        }
+        for (String permission : opEntity.waitPermissions.toArray()) {
+            boolean granted = isGranted(sContext, permission);
+            if (!granted && !sNeverAsk.contains(permission)) continue;
+
+            opEntity.waitPermissions.remove(permission);
+            if (granted) {
+                opEntity.addGrantedPermission(permission);
+            } else {
+                opEntity.addNeverAskPermission(permission);
+            }
+
+            // 合并的请求待申请权限是其子集，同步归类
+            if (opEntity.attachedEntities != null) {
+                for (OpEntity follower : opEntity.attachedEntities) {
+                    if (follower.waitPermissions.contains(permission)) {
+                        follower.waitPermissions.remove(permission);
+                        if (granted) {
+                            follower.addGrantedPermission(permission);
+                        } else {
+                            follower.addNeverAskPermission(permission);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isAlive(Activity activity) {
+        if (activity == null || activity.isFinishing()) return false;
+
+        return Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR1 || !activity.isDestroyed();
+    }
+
+    /**
+     * Manifest 中注册的权限，进程内只读取一次
+     *
+     * @return 不可修改的权限集合；无法读取时返回 null
+     */
+    static Set<String> getManifestPermissions() {
+        Set<String> manifestPermissions = sManifestPermissions;
+        if (manifestPermissions == null && sContext != null) {
+            synchronized (PermissionManager.class) {
+                manifestPermissions = sManifestPermissions;
+                if (manifestPermissions == null) {
+                    manifestPermissions = loadManifestPermissions(sContext);
+                    sManifestPermissions = manifestPermissions;
+                }
             }
         }
+        return manifestPermissions;
+    }
 
-        return manifestPermissions != null ? manifestPermissions : new HashSet<String>(0);
+    /**
+     * @return true : 已在 Manifest 中注册（无法读取 Manifest 时视为已注册）
+     */
+    static boolean isDeclared(String permission) {
+        Set<String> manifestPermissions = getManifestPermissions();
+        if (manifestPermissions == null || manifestPermissions.contains(permission)) return true;
+
+        if (sDebuggable) {
+            Log.w(TAG, permission + " is not declared in AndroidManifest.xml, treated as denied.");
+        }
+        return false;
+    }
+
+    private static Set<String> loadManifestPermissions(Context context) {
+        PackageInfo packageInfo;
+        try {
+            packageInfo = context.getPackageManager().getPackageInfo(
+                    context.getPackageName(), PackageManager.GET_PERMISSIONS);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+        String[] permissions = packageInfo.requestedPermissions;
+        if (permissions == null || permissions.length == 0) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(permissions)));
     }
 }
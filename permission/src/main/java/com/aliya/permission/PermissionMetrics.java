@@ -0,0 +1,56 @@
+package com.aliya.permission;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 权限申请性能、结果统计监听
+ * <p>
+ * 未设置时不产生任何额外开销（不读取时钟、不分配对象）；{@link #onRequestTimings} 在
+ * {@link PermissionCallback} 所在线程（见 {@link PermissionManager#setCallbackExecutor}）执行，
+ * 其余在请求所在线程执行，均不应做耗时操作
+ *
+ * @author a_liYa
+ * @date 2026/10/18 17:02.
+ * @see PermissionManager#setMetrics(PermissionMetrics)
+ * @see com.aliya.permission.abs.AbsPermissionMetrics
+ */
+public interface PermissionMetrics {
+
+    int OUTCOME_GRANTED = 0;    // 授予
+    int OUTCOME_DENIED = 1;     // 拒绝
+    int OUTCOME_NEVER_ASK = 2;  // 拒绝且不再询问
+
+    /**
+     * 检查权限命中缓存（无 IPC）
+     */
+    void onCacheHit(@NonNull String permission);
+
+    /**
+     * 检查权限未命中缓存（一次 IPC）
+     */
+    void onCacheMiss(@NonNull String permission);
+
+    /**
+     * 一次请求完成时每个权限的最终结果（每个请求、每个权限一次），
+     * 包括缓存中已授权、已知不再询问直接回调、系统弹框结果、特殊权限设置页结果；
+     * 合并等待同一系统结果的请求各自统计
+     *
+     * @param permission 权限
+     * @param outcome    {@link #OUTCOME_GRANTED}、{@link #OUTCOME_DENIED}、{@link #OUTCOME_NEVER_ASK}
+     */
+    void onPermissionOutcome(@NonNull String permission, int outcome);
+
+    /**
+     * 一次请求回调完成，各阶段耗时（纳秒），未经历的阶段为 0
+     *
+     * @param requestCode   请求码
+     * @param classifyNanos 权限归类（含检查权限 IPC）
+     * @param queueNanos    主线程排队等待（包括等待前一个系统请求）
+     * @param attachNanos   添加结果宿主并发起系统请求
+     * @param dialogNanos   系统弹框，发起请求至结果返回
+     * @param dispatchNanos 结果处理（含 rationale 检查）至回调执行完成（含回调线程池排队）
+     */
+    void onRequestTimings(int requestCode, long classifyNanos, long queueNanos, long attachNanos,
+                          long dialogNanos, long dispatchNanos);
+
+}
@@ -0,0 +1,26 @@
+package com.aliya.permission;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * 权限授权状态变化监听
+ *
+ * @author a_liYa
+ * @date 2026/10/18 15:02.
+ * @see PermissionManager#observe(android.content.Context, PermissionObserver, Permission...)
+ * @see PermissionManager#observeRequested(android.content.Context, PermissionObserver)
+ */
+public interface PermissionObserver {
+
+    /**
+     * 所监听权限的授权状态发生变化（至少一个集合不为空）
+     *
+     * @param grantedPermissions 变为授权的权限集合
+     * @param revokedPermissions 变为未授权的权限集合
+     */
+    void onChanged(@NonNull List<String> grantedPermissions,
+                   @NonNull List<String> revokedPermissions);
+
+}
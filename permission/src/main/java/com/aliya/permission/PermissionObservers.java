@@ -0,0 +1,206 @@
+package com.aliya.permission;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 管理 {@link PermissionObserver}，合并所有监听权限统一检查，只分发真实的状态变化
+ *
+ * @author a_liYa
+ * @date 2026/10/18 15:10.
+ */
+final class PermissionObservers {
+
+    // 同一个 observer 只保存一份，重复监听合并权限
+    private final Map<PermissionObserver, PermissionSet> mObservers = new LinkedHashMap<>();
+
+    private final PermissionSet mObserved = new PermissionSet();  // 所有监听权限的并集
+    private final PermissionSet mGranted = new PermissionSet();   // 上一次已知的授权权限
+
+    // 监听所有申请过的权限
+    private final List<PermissionObserver> mRequestedObservers = new ArrayList<>(1);
+    private final PermissionSet mRequested = new PermissionSet(); // 通过 PermissionManager 申请过的权限
+
+    void observe(Context context, PermissionObserver observer, String... permissions) {
+        synchronized (this) {
+            PermissionSet set = mObservers.get(observer);
+            if (set == null) mObservers.put(observer, set = new PermissionSet());
+
+            for (String permission : permissions) {
+                set.add(permission);
+                if (!mObserved.contains(permission) && !mRequested.contains(permission)) {
+                    mObserved.add(permission);
+                    // 记录初始状态，之后只分发变化
+                    if (PermissionManager.isGranted(context, permission)) mGranted.add(permission);
+                }
+            }
+        }
+    }
+
+    void observeRequested(PermissionObserver observer) {
+        synchronized (this) {
+            if (!mRequestedObservers.contains(observer)) mRequestedObservers.add(observer);
+        }
+    }
+
+    /**
+     * 记录请求中的权限及其归类时的授权状态，之后只分发变化
+     */
+    void track(OpEntity opEntity) {
+        synchronized (this) {
+            track(opEntity.grantedPermissions, true);
+            track(opEntity.waitPermissions, false);
+            track(opEntity.specialPermissions, false);
+            track(opEntity.deniedPermissions, false);
+        }
+    }
+
+    private void track(PermissionSet permissions, boolean isGranted) {
+        if (permissions.isEmpty() || mRequested.containsAll(permissions)) return;
+
+        for (String permission : permissions.asList()) {
+            if (mRequested.contains(permission)) continue;
+
+            mRequested.add(permission);
+            if (!mObserved.contains(permission)) {
+                if (isGranted) {
+                    mGranted.add(permission);
+                } else {
+                    mGranted.remove(permission);
+                }
+            }
+        }
+    }
+
+    void remove(PermissionObserver observer) {
+        synchronized (this) {
+            mRequestedObservers.remove(observer);
+            if (mObservers.remove(observer) == null) return;
+
+            // 重建并集，不再监听的权限同时移除已知状态（申请过的权限继续记录）
+            PermissionSet observed = new PermissionSet();
+            for (PermissionSet set : mObservers.values()) {
+                observed.addAll(set);
+            }
+            for (String permission : mObserved.toArray()) {
+                if (!observed.contains(permission)) {
+                    mObserved.remove(permission);
+                    if (!mRequested.contains(permission)) mGranted.remove(permission);
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空所有监听与已知状态（仅用于测试，见 {@link PermissionManager#reset()}）
+     */
+    synchronized void clear() {
+        mObservers.clear();
+        mObserved.clear();
+        mGranted.clear();
+        mRequestedObservers.clear();
+        mRequested.clear();
+    }
+
+    /**
+     * 权限申请结果
+     */
+    void onPermissionsResult(String[] permissions, int[] grantResults) {
+        Changes changes = null;
+        synchronized (this) {
+            if (mObserved.isEmpty() && mRequested.isEmpty()) return;
+
+            for (int i = 0; i < permissions.length; i++) {
+                if (!mObserved.contains(permissions[i])
+                        && !mRequested.contains(permissions[i])) continue;
+
+                changes = update(changes, permissions[i],
+                        grantResults[i] == PackageManager.PERMISSION_GRANTED);
+            }
+        }
+        dispatch(changes);
+    }
+
+    /**
+     * 对所有监听权限、申请过的权限统一检查一次（应用回到前台，用户可能从设置页返回）
+     * <p>
+     * 调用前授权缓存已失效，首个权限一次读取全部授权状态，其余命中缓存
+     */
+    void recheck(Context context) {
+        Changes changes = null;
+        synchronized (this) {
+            if (mObserved.isEmpty() && mRequested.isEmpty()) return;
+
+            PermissionSet watched = new PermissionSet();
+            watched.addAll(mObserved);
+            watched.addAll(mRequested);
+            for (String permission : watched.asList()) {
+                changes = update(changes, permission,
+                        PermissionManager.isGranted(context, permission));
+            }
+        }
+        dispatch(changes);
+    }
+
+    /**
+     * 更新已知状态，状态变化时记录到 changes
+     */
+    private Changes update(Changes changes, String permission, boolean isGranted) {
+        if (isGranted == mGranted.contains(permission)) return changes;
+
+        if (changes == null) changes = new Changes();
+        if (isGranted) {
+            mGranted.add(permission);
+            changes.granted.add(permission);
+        } else {
+            mGranted.remove(permission);
+            changes.revoked.add(permission);
+        }
+        return changes;
+    }
+
+    private void dispatch(Changes changes) {
+        if (changes == null) return;
+
+        // 锁内计算每个 observer 关心的变化，锁外回调
+        List<PermissionObserver> observers = new ArrayList<>(1);
+        List<Changes> observerChanges = new ArrayList<>(1);
+        synchronized (this) {
+            for (Map.Entry<PermissionObserver, PermissionSet> entry : mObservers.entrySet()) {
+                Changes observerChange = new Changes();
+                observerChange.granted.addIntersection(changes.granted, entry.getValue());
+                observerChange.revoked.addIntersection(changes.revoked, entry.getValue());
+                if (!observerChange.granted.isEmpty() || !observerChange.revoked.isEmpty()) {
+                    observers.add(entry.getKey());
+                    observerChanges.add(observerChange);
+                }
+            }
+            if (!mRequestedObservers.isEmpty()) {
+                Changes requestedChange = new Changes();
+                requestedChange.granted.addIntersection(changes.granted, mRequested);
+                requestedChange.revoked.addIntersection(changes.revoked, mRequested);
+                if (!requestedChange.granted.isEmpty() || !requestedChange.revoked.isEmpty()) {
+                    for (PermissionObserver observer : mRequestedObservers) {
+                        observers.add(observer);
+                        observerChanges.add(requestedChange);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < observers.size(); i++) {
+            Changes change = observerChanges.get(i);
+            observers.get(i).onChanged(change.granted.asList(), change.revoked.asList());
+        }
+    }
+
+    private static final class Changes {
+        final PermissionSet granted = new PermissionSet();
+        final PermissionSet revoked = new PermissionSet();
+    }
+
+}
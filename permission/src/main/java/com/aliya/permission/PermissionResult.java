@@ -0,0 +1,127 @@
+package com.aliya.permission;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * 权限申请结果（不可变）
+ *
+ * @author a_liYa
+ * @date 2026/10/18 14:10.
+ */
+public final class PermissionResult {
+
+    private final List<String> mGrantedPermissions;
+    private final List<String> mDeniedPermissions;
+    private final List<String> mNeverAskPermissions;
+    private final boolean mAlready;
+
+    // Permission 位图，按需转为 EnumSet
+    private final long mGrantedBits;
+    private final long mDeniedBits;
+    private final long mNeverAskBits;
+
+    /**
+     * 没有申请任何权限
+     */
+    PermissionResult() {
+        mGrantedPermissions = Collections.emptyList();
+        mDeniedPermissions = Collections.emptyList();
+        mNeverAskPermissions = Collections.emptyList();
+        mAlready = true;
+        mGrantedBits = 0;
+        mDeniedBits = 0;
+        mNeverAskBits = 0;
+    }
+
+    PermissionResult(OpEntity opEntity, boolean isAlready) {
+        mGrantedPermissions = immutable(opEntity.grantedPermissions);
+        mDeniedPermissions = immutable(opEntity.deniedPermissions);
+        mNeverAskPermissions = immutable(opEntity.neverAskPermissions);
+        mAlready = isAlready;
+        mGrantedBits = opEntity.grantedPermissions.bits();
+        mDeniedBits = opEntity.deniedPermissions.bits();
+        mNeverAskBits = opEntity.neverAskPermissions.bits();
+    }
+
+    /**
+     * @return true : 全部授予
+     */
+    public boolean isGranted() {
+        return mDeniedPermissions.isEmpty();
+    }
+
+    /**
+     * @return true : 申请之前已全部默认授权
+     */
+    public boolean isAlready() {
+        return mAlready;
+    }
+
+    /**
+     * @return 授权权限集合
+     */
+    @NonNull
+    public List<String> getGrantedPermissions() {
+        return mGrantedPermissions;
+    }
+
+    /**
+     * @return 被拒绝权限集合(包括不再询问)
+     */
+    @NonNull
+    public List<String> getDeniedPermissions() {
+        return mDeniedPermissions;
+    }
+
+    /**
+     * @return 被拒绝不再询问权限集合
+     */
+    @NonNull
+    public List<String> getNeverAskPermissions() {
+        return mNeverAskPermissions;
+    }
+
+    /**
+     * @return 授权的枚举权限（新建集合，不含非枚举权限）
+     */
+    @NonNull
+    public EnumSet<Permission> getGrantedPermissionSet() {
+        return PermissionSet.toEnumSet(mGrantedBits);
+    }
+
+    /**
+     * @return 被拒绝的枚举权限(包括不再询问)
+     */
+    @NonNull
+    public EnumSet<Permission> getDeniedPermissionSet() {
+        return PermissionSet.toEnumSet(mDeniedBits);
+    }
+
+    /**
+     * @return 被拒绝不再询问的枚举权限
+     */
+    @NonNull
+    public EnumSet<Permission> getNeverAskPermissionSet() {
+        return PermissionSet.toEnumSet(mNeverAskBits);
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionResult{granted=" + mGrantedPermissions
+                + ", denied=" + mDeniedPermissions
+                + ", neverAsk=" + mNeverAskPermissions
+                + ", already=" + mAlready + '}';
+    }
+
+    private static List<String> immutable(PermissionSet set) {
+        if (set.isEmpty()) return Collections.emptyList();
+
+        return Collections.unmodifiableList(Arrays.asList(set.toArray()));
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.aliya.permission;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * 权限集合
+ * <p>
+ * {@link Permission} 枚举权限以 ordinal 为下标存储在 long 位图中，
+ * 其他字符串权限（普通权限等）存储在溢出集合中，仅在需要时分配。
+ *
+ * @author a_liYa
+ * @date 2026/10/18 11:05.
+ */
+final class PermissionSet {
+
+    private static final Permission[] PERMISSIONS = Permission.values();
+
+    static {
+        // long 位图最多容纳 64 个枚举权限
+        if (PERMISSIONS.length > Long.SIZE) {
+            throw new IllegalStateException("Permission count exceeds " + Long.SIZE);
+        }
+    }
+
+    private long mBits;              // Permission 位图
+    private List<String> mExtras;    // 非 Permission 枚举的权限
+
+    private String[] mSnapshot;      // asList/toArray 缓存，集合变化时置空
+    private List<String> mListView;
+
+    void add(Permission permission) {
+        long bits = mBits | bit(permission);
+        if (bits != mBits) {
+            mBits = bits;
+            mSnapshot = null;
+        }
+    }
+
+    void add(String permission) {
+        Permission p = Permission.of(permission);
+        if (p != null) {
+            add(p);
+        } else if (mExtras == null || !mExtras.contains(permission)) {
+            if (mExtras == null) mExtras = new ArrayList<>(1);
+            mExtras.add(permission);
+            mSnapshot = null;
+        }
+    }
+
+    /**
+     * 并集
+     */
+    void addAll(PermissionSet other) {
+        long bits = mBits | other.mBits;
+        if (bits != mBits) {
+            mBits = bits;
+            mSnapshot = null;
+        }
+        if (other.mExtras != null) {
+            for (String permission : other.mExtras) add(permission);
+        }
+    }
+
+    void remove(String permission) {
+        Permission p = Permission.of(permission);
+        if (p != null) {
+            long bits = mBits & ~bit(p);
+            if (bits != mBits) {
+                mBits = bits;
+                mSnapshot = null;
+            }
+        } else if (mExtras != null && mExtras.remove(permission)) {
+            mSnapshot = null;
+        }
+    }
+
+    void clear() {
+        mBits = 0;
+        mExtras = null;
+        mSnapshot = null;
+    }
+
+    /**
+     * 添加 source 中同时属于 filter 的权限（交集）
+     */
+    void addIntersection(PermissionSet source, PermissionSet filter) {
+        long bits = mBits | (source.mBits & filter.mBits);
+        if (bits != mBits) {
+            mBits = bits;
+            mSnapshot = null;
+        }
+        if (source.mExtras != null) {
+            for (String permission : source.mExtras) {
+                if (filter.mExtras != null && filter.mExtras.contains(permission)) add(permission);
+            }
+        }
+    }
+
+    /**
+     * 添加 source 中不属于 exclude 的权限（差集）
+     */
+    void addDifference(PermissionSet source, PermissionSet exclude) {
+        long bits = mBits | (source.mBits & ~exclude.mBits);
+        if (bits != mBits) {
+            mBits = bits;
+            mSnapshot = null;
+        }
+        if (source.mExtras != null) {
+            for (String permission : source.mExtras) {
+                if (exclude.mExtras == null || !exclude.mExtras.contains(permission)) {
+                    add(permission);
+                }
+            }
+        }
+    }
+
+    boolean contains(Permission permission) {
+        return (mBits & bit(permission)) != 0;
+    }
+
+    boolean contains(String permission) {
+        Permission p = Permission.of(permission);
+        if (p != null) return contains(p);
+
+        return mExtras != null && mExtras.contains(permission);
+    }
+
+    /**
+     * @return true : other 是当前集合的子集
+     */
+    boolean containsAll(PermissionSet other) {
+        if ((other.mBits & ~mBits) != 0) return false;
+
+        if (other.mExtras != null) {
+            for (String permission : other.mExtras) {
+                if (mExtras == null || !mExtras.contains(permission)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return {@link Permission} 位图，下标为 ordinal
+     */
+    long bits() {
+        return mBits;
+    }
+
+    /**
+     * @param bits {@link #bits()}
+     * @return 新建的枚举集合，由调用方持有
+     */
+    static EnumSet<Permission> toEnumSet(long bits) {
+        EnumSet<Permission> set = EnumSet.noneOf(Permission.class);
+        for (; bits != 0; bits &= bits - 1) {
+            set.add(PERMISSIONS[Long.numberOfTrailingZeros(bits)]);
+        }
+        return set;
+    }
+
+    boolean isEmpty() {
+        return mBits == 0 && (mExtras == null || mExtras.isEmpty());
+    }
+
+    int size() {
+        return Long.bitCount(mBits) + (mExtras != null ? mExtras.size() : 0);
+    }
+
+    String[] toArray() {
+        return snapshot().clone();
+    }
+
+    /**
+     * @return 只读 List 视图，首次访问元素时才生成数组
+     */
+    List<String> asList() {
+        if (mListView == null) mListView = new ListView();
+        return mListView;
+    }
+
+    private String[] snapshot() {
+        if (mSnapshot == null) {
+            String[] array = new String[size()];
+            int index = 0;
+            for (long bits = mBits; bits != 0; bits &= bits - 1) {
+                array[index++] = PERMISSIONS[Long.numberOfTrailingZeros(bits)].getPermission();
+            }
+            if (mExtras != null) {
+                for (String permission : mExtras) array[index++] = permission;
+            }
+            mSnapshot = array;
+        }
+        return mSnapshot;
+    }
+
+    private static long bit(Permission permission) {
+        return 1L << permission.ordinal();
+    }
+
+    private class ListView extends AbstractList<String> {
+
+        @Override
+        public String get(int index) {
+            return snapshot()[index];
+        }
+
+        @Override
+        public int size() {
+            return PermissionSet.this.size();
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.aliya.permission;
+
+import java.util.EnumSet;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 全部 {@link Permission} 枚举权限某一时刻的授权状态（不可变）
+ * <p>
+ * 以 ordinal 为下标存储在 long 位图中，查询、对比均为 O(1)，适合界面一次取值、只刷新变化的部分
+ *
+ * @author a_liYa
+ * @date 2026/10/18 20:30.
+ * @see PermissionManager#snapshot(android.content.Context)
+ */
+public final class PermissionSnapshot {
+
+    private final long mGranted;    // 已授权
+    private final long mDenied;     // 未授权，包括不再询问
+    private final long mNeverAsk;   // 已知拒绝且不再询问
+
+    PermissionSnapshot(long granted, long denied, long neverAsk) {
+        mGranted = granted;
+        mDenied = denied;
+        mNeverAsk = neverAsk;
+    }
+
+    public boolean isGranted(@NonNull Permission permission) {
+        return (mGranted & bit(permission)) != 0;
+    }
+
+    /**
+     * @return true : 未授权（包括不再询问）
+     */
+    public boolean isDenied(@NonNull Permission permission) {
+        return (mDenied & bit(permission)) != 0;
+    }
+
+    /**
+     * @return true : 已知拒绝且不再询问（来自本进程内的申请结果，需跳转设置页授权）
+     */
+    public boolean isNeverAsk(@NonNull Permission permission) {
+        return (mNeverAsk & bit(permission)) != 0;
+    }
+
+    /**
+     * @return true : 权限组内权限全部已授权
+     */
+    public boolean isGranted(@NonNull Permission.Group group) {
+        long bits = 0;
+        for (Permission permission : group.getGroup()) {
+            bits |= bit(permission);
+        }
+        return (mGranted & bits) == bits;
+    }
+
+    /**
+     * @return 已授权的权限（新建集合）
+     */
+    @NonNull
+    public EnumSet<Permission> getGranted() {
+        return PermissionSet.toEnumSet(mGranted);
+    }
+
+    /**
+     * @return 未授权的权限，包括不再询问（新建集合）
+     */
+    @NonNull
+    public EnumSet<Permission> getDenied() {
+        return PermissionSet.toEnumSet(mDenied);
+    }
+
+    /**
+     * @return 已知拒绝且不再询问的权限（新建集合）
+     */
+    @NonNull
+    public EnumSet<Permission> getNeverAsk() {
+        return PermissionSet.toEnumSet(mNeverAsk);
+    }
+
+    /**
+     * @param previous 之前的快照，null 时视为全部变化
+     * @return true : 与 previous 存在状态变化的权限
+     */
+    public boolean isChanged(@Nullable PermissionSnapshot previous) {
+        return changedBits(previous) != 0;
+    }
+
+    /**
+     * @param previous 之前的快照，null 时视为全部变化
+     * @return 状态（授权、拒绝、不再询问）发生变化的权限（新建集合，没有变化时为空）
+     */
+    @NonNull
+    public EnumSet<Permission> diff(@Nullable PermissionSnapshot previous) {
+        return PermissionSet.toEnumSet(changedBits(previous));
+    }
+
+    private long changedBits(PermissionSnapshot previous) {
+        if (previous == null) return mGranted | mDenied;
+
+        return (mGranted ^ previous.mGranted)
+                | (mDenied ^ previous.mDenied)
+                | (mNeverAsk ^ previous.mNeverAsk);
+    }
+
+    private static long bit(Permission permission) {
+        return 1L << permission.ordinal();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PermissionSnapshot)) return false;
+
+        PermissionSnapshot that = (PermissionSnapshot) o;
+        return mGranted == that.mGranted && mDenied == that.mDenied && mNeverAsk == that.mNeverAsk;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (mGranted ^ (mGranted >>> 32));
+        result = 31 * result + (int) (mDenied ^ (mDenied >>> 32));
+        result = 31 * result + (int) (mNeverAsk ^ (mNeverAsk >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionSnapshot{granted=" + getGranted()
+                + ", denied=" + getDenied()
+                + ", neverAsk=" + getNeverAsk() + '}';
+    }
+
+}
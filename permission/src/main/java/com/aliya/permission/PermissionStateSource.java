@@ -0,0 +1,70 @@
+package com.aliya.permission;
+
+import android.app.Activity;
+import android.content.Context;
+
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 权限状态数据源：授权查询、是否需要解释（rationale）查询、特殊权限检查
+ * <p>
+ * 分类（assort）与分发逻辑只通过此接口读取系统状态，默认实现直接访问 Android 系统；
+ * 替换为 {@link InMemoryPermissionStateSource} 后可脱离设备在 JVM 中运行、压测
+ *
+ * @author a_liYa
+ * @date 2026/10/18 18:20.
+ * @see PermissionManager#setStateSource(PermissionStateSource)
+ */
+public interface PermissionStateSource {
+
+    /**
+     * 运行时权限是否已授权（可能为一次 IPC，结果由调用方缓存）
+     *
+     * @param context    A any context
+     * @param permission 权限名称
+     * @return true : 已授权
+     */
+    boolean checkSelfPermission(@NonNull Context context, @NonNull String permission);
+
+    /**
+     * 批量查询 Manifest 中注册的全部运行时权限授权状态（默认数据源为一次 IPC）
+     * <p>
+     * 不包含特殊权限，未包含的权限会逐个调用 {@link #checkSelfPermission(Context, String)}
+     *
+     * @param context A any context
+     * @return 权限 - 是否授权，null : 不支持批量查询
+     */
+    Map<String, Boolean> queryGrantStates(@NonNull Context context);
+
+    /**
+     * 是否为特殊权限（需要跳转系统设置页授权，如 SYSTEM_ALERT_WINDOW），决定申请时的归类
+     * <p>
+     * 跳转的设置页仍由 {@link PermissionManager#registerSpecialPermission} 注册的处理器提供，
+     * 没有处理器的特殊权限申请时直接视为拒绝
+     *
+     * @param permission 权限名称
+     * @return true : 特殊权限，此时 {@link #checkSpecialPermission(Context, String)} 不返回 null
+     */
+    boolean isSpecialPermission(@NonNull String permission);
+
+    /**
+     * 特殊权限（需要跳转系统设置页授权，如 SYSTEM_ALERT_WINDOW）是否已授权
+     *
+     * @param context    A any context
+     * @param permission 权限名称
+     * @return null : 不是此数据源能识别的特殊权限，按运行时权限处理
+     */
+    Boolean checkSpecialPermission(@NonNull Context context, @NonNull String permission);
+
+    /**
+     * @param activity   发起请求的 Activity
+     * @param permission 权限名称
+     * @return true : 用户拒绝过且未勾选不再询问
+     * @see Activity#shouldShowRequestPermissionRationale(String)
+     */
+    boolean shouldShowRequestPermissionRationale(@NonNull Activity activity,
+                                                 @NonNull String permission);
+
+}
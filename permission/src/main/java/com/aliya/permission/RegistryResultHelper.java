@@ -0,0 +1,106 @@
+package com.aliya.permission;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.content.pm.PackageManager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import androidx.activity.ComponentActivity;
+import androidx.activity.result.ActivityResult;
+import androidx.activity.result.ActivityResultCallback;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContract;
+import androidx.activity.result.contract.ActivityResultContracts;
+
+/**
+ * 通过 ComponentActivity#getActivityResultRegistry() 实现，无需添加 Fragment，同步发起请求
+ * <p>
+ * 注：androidx.activity 为 compileOnly 依赖，调用之前需确认运行时存在，见 {@link ResultHelper}
+ *
+ * @author a_liYa
+ * @date 2026/10/18 16:05.
+ */
+final class RegistryResultHelper {
+
+    private static final String KEY_PREFIX = "com.aliya.permission.result#";
+
+    private static final AtomicInteger sNextKey = new AtomicInteger();
+
+    private RegistryResultHelper() {
+    }
+
+    static boolean isSupported(Activity activity) {
+        return activity instanceof ComponentActivity;
+    }
+
+    static void requestPermissions(Activity activity, final String[] permissions,
+                                   final int requestCode,
+                                   final ResultHelper.OnPermissionsResultCallback callback) {
+        launch((ComponentActivity) activity, new ActivityResultContracts.RequestMultiplePermissions(),
+                permissions, new OneShotCallback<Map<String, Boolean>>() {
+                    @Override
+                    void onResult(Map<String, Boolean> result) {
+                        if (callback == null) return;
+
+                        // 空结果表示申请被中断，与 Activity#onRequestPermissionsResult 保持一致
+                        if (result == null || result.isEmpty()) {
+                            callback.onPermissionsResult(requestCode, new String[0], new int[0]);
+                            return;
+                        }
+                        int[] grantResults = new int[permissions.length];
+                        for (int i = 0; i < permissions.length; i++) {
+                            grantResults[i] = Boolean.TRUE.equals(result.get(permissions[i]))
+                                    ? PackageManager.PERMISSION_GRANTED
+                                    : PackageManager.PERMISSION_DENIED;
+                        }
+                        callback.onPermissionsResult(requestCode, permissions, grantResults);
+                    }
+                });
+    }
+
+    static void startActivityForResult(Activity activity, Intent intent, final int requestCode,
+                                       final ResultHelper.OnActivityResultCallback callback) {
+        launch((ComponentActivity) activity, new ActivityResultContracts.StartActivityForResult(),
+                intent, new OneShotCallback<ActivityResult>() {
+                    @Override
+                    void onResult(ActivityResult result) {
+                        if (callback == null) return;
+
+                        callback.onActivityResult(requestCode, result.getResultCode(),
+                                result.getData());
+                    }
+                });
+    }
+
+    private static <I, O> void launch(ComponentActivity activity,
+                                      ActivityResultContract<I, O> contract, I input,
+                                      OneShotCallback<O> callback) {
+        // 不绑定 Lifecycle 的注册方式，可在任意时机调用，结果返回后需手动注销
+        ActivityResultLauncher<I> launcher = activity.getActivityResultRegistry()
+                .register(KEY_PREFIX + sNextKey.getAndIncrement(), contract, callback);
+        callback.launcher = launcher;
+        launcher.launch(input);
+    }
+
+    /**
+     * 结果回调一次之后注销 launcher
+     */
+    private abstract static class OneShotCallback<O> implements ActivityResultCallback<O> {
+
+        ActivityResultLauncher<?> launcher;
+
+        @Override
+        public final void onActivityResult(O result) {
+            if (launcher != null) {
+                launcher.unregister();
+                launcher = null;
+            }
+            onResult(result);
+        }
+
+        abstract void onResult(O result);
+    }
+
+}
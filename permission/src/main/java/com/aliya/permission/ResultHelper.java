@@ -10,8 +10,12 @@ import android.os.Build;
 import android.os.Bundle;
 import android.util.SparseArray;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -27,6 +31,23 @@ public final class ResultHelper {
 
     private static final String FRAGMENT_TAG = "result_fragment_tag";
 
+    private static final int AUTO_REQUEST_CODE_START = 0x8000;
+    private static final AtomicInteger sAutoRequestCode = new AtomicInteger();
+
+    /**
+     * 每个 Activity 对应的 InnerResultFragment（主线程访问）
+     * <p>
+     * 注：Fragment 强引用 Activity，所以 value 必须是弱引用，否则 WeakHashMap 的 key 无法回收
+     */
+    private static final Map<Activity, WeakReference<InnerResultFragment>> sResultFragments =
+            new WeakHashMap<>();
+
+    /**
+     * 运行时是否依赖了 androidx.activity（提供 ActivityResultRegistry）
+     */
+    private static final boolean sRegistryAvailable =
+            isClassAvailable("androidx.activity.result.ActivityResultRegistry");
+
     public static Activity getActivityByContext(Context context) {
         while (context instanceof ContextWrapper) {
             if (context instanceof Activity) {
@@ -47,16 +68,14 @@ public final class ResultHelper {
         final Activity activity = getActivityByContext(context);
         if (activity == null) return false;
 
-        FragmentManager manager = activity.getFragmentManager();
-        Fragment fragmentByTag = manager.findFragmentByTag(FRAGMENT_TAG);
-        InnerResultFragment requestFragment;
-        if (fragmentByTag instanceof InnerResultFragment) {
-            requestFragment = (InnerResultFragment) fragmentByTag;
-        } else {
-            requestFragment = new InnerResultFragment();
-            manager.beginTransaction().add(requestFragment, FRAGMENT_TAG).commitAllowingStateLoss();
+        // ComponentActivity 优先使用 ActivityResultRegistry，无需 Fragment
+        if (sRegistryAvailable && RegistryResultHelper.isSupported(activity)) {
+            RegistryResultHelper.requestPermissions(activity, permissions, requestCode, callback);
+            return true;
         }
-        requestFragment.requestPermissionsForResult(permissions, requestCode, callback);
+
+        obtainResultFragment(activity)
+                .requestPermissionsForResult(permissions, requestCode, callback);
         return true;
     }
 
@@ -66,26 +85,119 @@ public final class ResultHelper {
         return startActivityForResult(activityContext, intent, requestCode, null, callback);
     }
 
+    /**
+     * 自动分配不冲突的 requestCode，回调 {@link OnActivityResultCallback} 时可获取
+     *
+     * @see #startActivityForResult(Context, Intent, Bundle, OnActivityResultCallback)
+     */
+    public static boolean startActivityForResult(Context activityContext, Intent intent,
+                                                 OnActivityResultCallback callback) {
+        return startActivityForResult(activityContext, intent, (Bundle) null, callback);
+    }
+
+    /**
+     * 自动分配不冲突的 requestCode，回调 {@link OnActivityResultCallback} 时可获取
+     *
+     * @param activityContext Should be include activity.
+     * @param intent          The intent to start.
+     * @param options         Additional options for how the Activity should be started.
+     * @param callback        结果回调
+     * @return true : 启动成功
+     */
+    public static boolean startActivityForResult(Context activityContext, Intent intent,
+                                                 Bundle options,
+                                                 OnActivityResultCallback callback) {
+        Activity activity = getActivityByContext(activityContext);
+        if (activity != null) {
+            if (options == null && sRegistryAvailable && RegistryResultHelper.isSupported(activity)) {
+                RegistryResultHelper.startActivityForResult(activity, intent,
+                        nextAutoRequestCode(), callback);
+                return true;
+            }
+            InnerResultFragment resultFragment = obtainResultFragment(activity);
+            resultFragment.startActivityForResult(intent, resultFragment.obtainRequestCode(),
+                    options, callback);
+            return true;
+        }
+        return false;
+    }
+
     public static boolean startActivityForResult(Context activityContext,
                                                  Intent intent, int requestCode, Bundle options,
                                                  OnActivityResultCallback callback) {
         Activity activity = getActivityByContext(activityContext);
         if (activity != null) {
-            FragmentManager manager = activity.getFragmentManager();
-            InnerResultFragment resultFragment;
-            Fragment fragmentByTag = manager.findFragmentByTag(FRAGMENT_TAG);
-            if (fragmentByTag instanceof InnerResultFragment) {
-                resultFragment = (InnerResultFragment) fragmentByTag;
-            } else {
-                resultFragment = new InnerResultFragment();
-                manager.beginTransaction().add(resultFragment, FRAGMENT_TAG).commitAllowingStateLoss();
+            // ActivityResultRegistry 不支持 Bundle 类型的 options，此时使用 Fragment 实现
+            if (options == null && sRegistryAvailable && RegistryResultHelper.isSupported(activity)) {
+                RegistryResultHelper.startActivityForResult(activity, intent, requestCode, callback);
+                return true;
             }
-            resultFragment.startActivityForResult(intent, requestCode, options, callback);
+            obtainResultFragment(activity)
+                    .startActivityForResult(intent, requestCode, options, callback);
             return true;
         }
         return false;
     }
 
+    /**
+     * 自动分配的 requestCode 取 [0x8000, 0xFFFF]，与手动指定的常见取值错开
+     */
+    private static int nextAutoRequestCode() {
+        return AUTO_REQUEST_CODE_START | (sAutoRequestCode.getAndIncrement() & 0x7fff);
+    }
+
+    private static boolean isClassAvailable(String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取 Activity 对应的 InnerResultFragment，优先复用缓存，没有时立即添加
+     */
+    private static InnerResultFragment obtainResultFragment(Activity activity) {
+        WeakReference<InnerResultFragment> reference = sResultFragments.get(activity);
+        InnerResultFragment resultFragment = reference != null ? reference.get() : null;
+        if (resultFragment != null && !resultFragment.isRemoving()) return resultFragment;
+
+        FragmentManager manager = activity.getFragmentManager();
+        Fragment fragmentByTag = manager.findFragmentByTag(FRAGMENT_TAG);
+        if (fragmentByTag instanceof InnerResultFragment) {
+            resultFragment = (InnerResultFragment) fragmentByTag;
+        } else {
+            resultFragment = new InnerResultFragment();
+            commitNow(manager, resultFragment);
+        }
+        sResultFragments.put(activity, new WeakReference<>(resultFragment));
+        return resultFragment;
+    }
+
+    /**
+     * 同步添加 Fragment，使首次请求不必等待下一帧；
+     * 正在执行其他事务时无法同步，退回异步提交（由 onCreate 补发请求）
+     */
+    private static void commitNow(FragmentManager manager, Fragment fragment) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            try {
+                manager.beginTransaction().add(fragment, FRAGMENT_TAG).commitNowAllowingStateLoss();
+                return;
+            } catch (IllegalStateException e) {
+                // FragmentManager is already executing transactions
+            }
+            manager.beginTransaction().add(fragment, FRAGMENT_TAG).commitAllowingStateLoss();
+        } else {
+            manager.beginTransaction().add(fragment, FRAGMENT_TAG).commitAllowingStateLoss();
+            try {
+                manager.executePendingTransactions();
+            } catch (IllegalStateException e) {
+                // Recursive entry to executePendingTransactions
+            }
+        }
+    }
+
     /**
      * 通过 Fragment 协助实现
      *
@@ -98,7 +210,8 @@ public final class ResultHelper {
         private SparseArray<OnPermissionsResultCallback> mPermissionsResultCallbacks;
 
         private List<IntentConfig> mWaitingStartActivities;
-        private List<CallbackParams> mCallbackParams = new ArrayList<>(1);
+        // requestCode -> 回调链表（同一 requestCode 支持多个回调）
+        private SparseArray<CallbackParams> mCallbackParams;
 
         @Override
         public void onCreate(@Nullable Bundle savedInstanceState) {
@@ -156,8 +269,18 @@ public final class ResultHelper {
 
         public void startActivityForResult(Intent intent, int requestCode, Bundle options,
                                            OnActivityResultCallback callback) {
-            if (callback != null)
-                mCallbackParams.add(new CallbackParams(requestCode, callback));
+            if (callback != null) {
+                if (mCallbackParams == null) mCallbackParams = new SparseArray<>(1);
+
+                CallbackParams params = new CallbackParams(callback);
+                CallbackParams head = mCallbackParams.get(requestCode);
+                if (head == null) {
+                    mCallbackParams.put(requestCode, params);
+                } else { // 同一 requestCode 多次启动：追加到队尾，结果按启动顺序逐个回调
+                    while (head.next != null) head = head.next;
+                    head.next = params;
+                }
+            }
             if (isAdded()) {
                 if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
                     startActivityForResult(intent, requestCode, options);
@@ -175,18 +298,30 @@ public final class ResultHelper {
         @Override
         public void onActivityResult(int requestCode, int resultCode, Intent data) {
             super.onActivityResult(requestCode, resultCode, data);
-            int performedIndex = -1;
-            for (int i = mCallbackParams.size() - 1; i >= 0; i--) {
-                CallbackParams callbackParams = mCallbackParams.get(i);
-                if (callbackParams.requestCode == requestCode) {
-                    callbackParams.callback.onActivityResult(requestCode, resultCode, data);
-                    performedIndex = i;
-                    break;
+            if (mCallbackParams == null) return;
+
+            CallbackParams params = mCallbackParams.get(requestCode);
+            if (params != null) {
+                // 一次结果只对应一次启动：先进先出，只回调队首；回调之前出队，回调中可再次使用该 requestCode
+                if (params.next != null) {
+                    mCallbackParams.put(requestCode, params.next);
+                    params.next = null;
+                } else {
+                    mCallbackParams.remove(requestCode);
                 }
+                params.callback.onActivityResult(requestCode, resultCode, data);
             }
-            if (performedIndex > -1) { // 完成之后删除 Callback
-                mCallbackParams.remove(performedIndex);
-            }
+        }
+
+        /**
+         * 分配当前没有等待回调的 requestCode
+         */
+        int obtainRequestCode() {
+            int requestCode;
+            do {
+                requestCode = nextAutoRequestCode();
+            } while (mCallbackParams != null && mCallbackParams.get(requestCode) != null);
+            return requestCode;
         }
 
         private static class IntentConfig {
@@ -202,11 +337,10 @@ public final class ResultHelper {
         }
 
         private static class CallbackParams {
-            int requestCode;
             OnActivityResultCallback callback;
+            CallbackParams next;
 
-            public CallbackParams(int requestCode, OnActivityResultCallback callback) {
-                this.requestCode = requestCode;
+            public CallbackParams(OnActivityResultCallback callback) {
                 this.callback = callback;
             }
         }
@@ -34,4 +34,46 @@ public final class SettingIntents {
         return new Intent(Settings.ACTION_MANAGE_OVERLAY_PERMISSION,
                 Uri.parse("package:" + context.getPackageName()));
     }
+
+    /**
+     * 修改系统设置的权限授权 设置页
+     *
+     * @param context Any of the context
+     * @return intent
+     */
+    public static Intent getWriteSettingsIntent(Context context) {
+        return new Intent(Settings.ACTION_MANAGE_WRITE_SETTINGS,
+                Uri.parse("package:" + context.getPackageName()));
+    }
+
+    /**
+     * 所有文件访问权限授权 设置页（Android 11）
+     *
+     * @param context Any of the context
+     * @return intent
+     */
+    public static Intent getManageAllFilesIntent(Context context) {
+        return new Intent("android.settings.MANAGE_APP_ALL_FILES_ACCESS_PERMISSION",
+                Uri.parse("package:" + context.getPackageName()));
+    }
+
+    /**
+     * 安装未知应用权限授权 设置页（Android 8.0）
+     *
+     * @param context Any of the context
+     * @return intent
+     */
+    public static Intent getUnknownAppSourcesIntent(Context context) {
+        return new Intent(Settings.ACTION_MANAGE_UNKNOWN_APP_SOURCES,
+                Uri.parse("package:" + context.getPackageName()));
+    }
+
+    /**
+     * 通知使用权授权 设置页
+     *
+     * @return intent
+     */
+    public static Intent getNotificationListenerIntent() {
+        return new Intent("android.settings.ACTION_NOTIFICATION_LISTENER_SETTINGS");
+    }
 }
@@ -0,0 +1,42 @@
+package com.aliya.permission;
+
+import android.content.Context;
+import android.content.Intent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 特殊权限处理：无法通过系统弹框申请，需要跳转系统设置页由用户手动开启
+ * <p>
+ * 已内置：SYSTEM_ALERT_WINDOW、WRITE_SETTINGS、MANAGE_EXTERNAL_STORAGE、
+ * REQUEST_INSTALL_PACKAGES、BIND_NOTIFICATION_LISTENER_SERVICE（通知使用权）
+ *
+ * @author a_liYa
+ * @date 2026/10/18 19:40.
+ * @see PermissionManager#registerSpecialPermission(String, SpecialPermissionHandler)
+ */
+public interface SpecialPermissionHandler {
+
+    /**
+     * @param context A any context
+     * @return true : 已授权（当前系统版本无需授权时也返回 true）
+     */
+    boolean check(@NonNull Context context);
+
+    /**
+     * @param context A any context
+     * @return 授权设置页，null 或没有可处理的 Activity : 当前系统无法跳转授权，直接视为拒绝
+     */
+    @Nullable
+    Intent getSettingIntent(@NonNull Context context);
+
+    /**
+     * 从设置页返回后重新检查（部分系统返回后状态更新有延迟，可在此修正）
+     *
+     * @param context A any context
+     * @return true : 已授权
+     */
+    boolean recheck(@NonNull Context context);
+
+}
@@ -0,0 +1,194 @@
+package com.aliya.permission;
+
+import android.Manifest;
+import android.app.AppOpsManager;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import android.os.Process;
+import android.provider.Settings;
+import android.text.TextUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 特殊权限注册表，以权限名称 O(1) 查找对应的 {@link SpecialPermissionHandler}
+ *
+ * @author a_liYa
+ * @date 2026/10/18 19:45.
+ */
+final class SpecialPermissions {
+
+    // Android 11 新增，常量值内联，不依赖 compileSdkVersion
+    static final String MANAGE_EXTERNAL_STORAGE = "android.permission.MANAGE_EXTERNAL_STORAGE";
+
+    private static final Map<String, SpecialPermissionHandler> sHandlers =
+            new ConcurrentHashMap<>();
+
+    static {
+        sHandlers.put(Manifest.permission.SYSTEM_ALERT_WINDOW, new OverlayHandler());
+        sHandlers.put(Manifest.permission.WRITE_SETTINGS, new WriteSettingsHandler());
+        sHandlers.put(MANAGE_EXTERNAL_STORAGE, new ManageStorageHandler());
+        sHandlers.put(Manifest.permission.REQUEST_INSTALL_PACKAGES, new InstallPackagesHandler());
+        sHandlers.put(Manifest.permission.BIND_NOTIFICATION_LISTENER_SERVICE,
+                new NotificationListenerHandler());
+    }
+
+    /**
+     * @param permission 权限名称
+     * @return null : 不是特殊权限
+     */
+    static SpecialPermissionHandler get(String permission) {
+        return permission != null ? sHandlers.get(permission) : null;
+    }
+
+    static void register(@NonNull String permission, SpecialPermissionHandler handler) {
+        if (handler != null) {
+            sHandlers.put(permission, handler);
+        } else {
+            sHandlers.remove(permission);
+        }
+    }
+
+    /**
+     * @return true : AppOps 允许（无法读取时返回 false）
+     */
+    private static boolean isOpAllowed(Context context, String op) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) return false;
+        try {
+            AppOpsManager appOps = (AppOpsManager) context.getSystemService(Context.APP_OPS_SERVICE);
+            return appOps != null && appOps.checkOpNoThrow(op, Process.myUid(),
+                    context.getPackageName()) == AppOpsManager.MODE_ALLOWED;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private SpecialPermissions() {
+    }
+
+    /**
+     * 在其他应用上层显示
+     */
+    static class OverlayHandler implements SpecialPermissionHandler {
+
+        @Override
+        public boolean check(@NonNull Context context) {
+            return Build.VERSION.SDK_INT < Build.VERSION_CODES.M || Settings.canDrawOverlays(context);
+        }
+
+        @Override
+        public Intent getSettingIntent(@NonNull Context context) {
+            return SettingIntents.getOverlayPermissionIntent(context);
+        }
+
+        @Override
+        public boolean recheck(@NonNull Context context) {
+            if (check(context)) return true;
+            // Android 8.0/8.1 返回后 canDrawOverlays 会延迟更新，以 AppOps 为准
+            return (Build.VERSION.SDK_INT == Build.VERSION_CODES.O
+                    || Build.VERSION.SDK_INT == Build.VERSION_CODES.O_MR1)
+                    && isOpAllowed(context, "android:system_alert_window");
+        }
+    }
+
+    /**
+     * 修改系统设置
+     */
+    static class WriteSettingsHandler implements SpecialPermissionHandler {
+
+        @Override
+        public boolean check(@NonNull Context context) {
+            return Build.VERSION.SDK_INT < Build.VERSION_CODES.M || Settings.System.canWrite(context);
+        }
+
+        @Override
+        public Intent getSettingIntent(@NonNull Context context) {
+            return SettingIntents.getWriteSettingsIntent(context);
+        }
+
+        @Override
+        public boolean recheck(@NonNull Context context) {
+            return check(context);
+        }
+    }
+
+    /**
+     * 所有文件访问权限（Android 11 以下由存储运行时权限决定，视为已授权）
+     */
+    static class ManageStorageHandler implements SpecialPermissionHandler {
+
+        @Override
+        public boolean check(@NonNull Context context) {
+            return Build.VERSION.SDK_INT < Build.VERSION_CODES.R
+                    || isOpAllowed(context, "android:manage_external_storage");
+        }
+
+        @Override
+        public Intent getSettingIntent(@NonNull Context context) {
+            return SettingIntents.getManageAllFilesIntent(context);
+        }
+
+        @Override
+        public boolean recheck(@NonNull Context context) {
+            return check(context);
+        }
+    }
+
+    /**
+     * 安装未知应用（Android 8.0 以下由全局"未知来源"开关决定，视为已授权）
+     */
+    static class InstallPackagesHandler implements SpecialPermissionHandler {
+
+        @Override
+        public boolean check(@NonNull Context context) {
+            return Build.VERSION.SDK_INT < Build.VERSION_CODES.O
+                    || context.getPackageManager().canRequestPackageInstalls();
+        }
+
+        @Override
+        public Intent getSettingIntent(@NonNull Context context) {
+            return SettingIntents.getUnknownAppSourcesIntent(context);
+        }
+
+        @Override
+        public boolean recheck(@NonNull Context context) {
+            return check(context);
+        }
+    }
+
+    /**
+     * 通知使用权（NotificationListenerService），Android 4.3 新增
+     */
+    static class NotificationListenerHandler implements SpecialPermissionHandler {
+
+        @Override
+        public boolean check(@NonNull Context context) {
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2) return false;
+
+            String listeners = Settings.Secure.getString(context.getContentResolver(),
+                    "enabled_notification_listeners");
+            if (TextUtils.isEmpty(listeners)) return false;
+            // 格式：package/service:package/service
+            String packagePrefix = context.getPackageName() + "/";
+            for (String component : listeners.split(":")) {
+                if (component.startsWith(packagePrefix)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Intent getSettingIntent(@NonNull Context context) {
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2) return null;
+            return SettingIntents.getNotificationListenerIntent();
+        }
+
+        @Override
+        public boolean recheck(@NonNull Context context) {
+            return check(context);
+        }
+    }
+}
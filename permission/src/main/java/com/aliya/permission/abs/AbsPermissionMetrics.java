@@ -0,0 +1,32 @@
+package com.aliya.permission.abs;
+
+import androidx.annotation.NonNull;
+
+import com.aliya.permission.PermissionMetrics;
+
+/**
+ * PermissionMetrics 的抽象实现类
+ *
+ * @author a_liYa
+ * @date 2026/10/18 17:10.
+ */
+public abstract class AbsPermissionMetrics implements PermissionMetrics {
+
+    @Override
+    public void onCacheHit(@NonNull String permission) {
+    }
+
+    @Override
+    public void onCacheMiss(@NonNull String permission) {
+    }
+
+    @Override
+    public void onPermissionOutcome(@NonNull String permission, int outcome) {
+    }
+
+    @Override
+    public void onRequestTimings(int requestCode, long classifyNanos, long queueNanos,
+                                 long attachNanos, long dialogNanos, long dispatchNanos) {
+    }
+
+}